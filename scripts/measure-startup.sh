@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the plain JVM, AOT + CDS and native builds.
+# Build them first (the order matters, each build cleans target/ partially):
+#   mvn -Dlean -DskipTests package && cp target/dog-shelter-api-*.jar /tmp/dog-shelter-jvm.jar
+#   mvn -Pcds -Dlean -DskipTests package
+#   mvn -Pnative -Dlean -DskipTests native:compile
+# then run scripts/measure-startup.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+CDS_JAR=$(ls target/cds/dog-shelter-api-*.jar)
+
+declare -A MODES=(
+  [jvm]="java -jar /tmp/dog-shelter-jvm.jar"
+  [cds]="java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true -jar $CDS_JAR"
+  [native]="target/dog-shelter-api"
+)
+
+measure() {
+  local command=$1 log pid started rss
+  log=$(mktemp)
+  $command --server.port="$PORT" >"$log" 2>&1 &
+  pid=$!
+  until grep -q "Started DogShelterApiApplication" "$log"; do
+    kill -0 "$pid" 2>/dev/null || { cat "$log"; exit 1; }
+    sleep 0.05
+  done
+  started=$(grep -o "Started DogShelterApiApplication in [0-9.]* seconds" "$log" | grep -o "[0-9.]*" | head -1)
+  curl -s -o /dev/null "http://localhost:$PORT/api/v1/dogs"
+  rss=$(ps -o rss= -p "$pid")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+  echo "$started $((rss / 1024))"
+}
+
+printf "%-8s %12s %12s\n" mode "startup (s)" "RSS (MB)"
+for mode in jvm cds native; do
+  total_startup=0
+  total_rss=0
+  for _ in $(seq "$RUNS"); do
+    read -r startup rss < <(measure "${MODES[$mode]}")
+    total_startup=$(echo "$total_startup + $startup" | bc)
+    total_rss=$((total_rss + rss))
+  done
+  printf "%-8s %12.3f %12d\n" "$mode" "$(echo "$total_startup / $RUNS" | bc -l)" $((total_rss / RUNS))
+done
@@ -0,0 +1,198 @@
+package dev.jackson.dog_shelter_api.audit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jackson.dog_shelter_api.enums.AuditOverflowPolicy;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Takes committed changes off the request path: the listener only offers a
+ * record to a bounded queue, {@link DogAuditWriter} persists it later. When the
+ * queue is full the configured {@link AuditOverflowPolicy} applies. Every
+ * record is counted as {@value #EVENTS_METER}, tagged by outcome.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class DogAuditQueue {
+
+    static final String EVENTS_METER = "dog.audit.events";
+    private static final String SPILL_FILE = "audit-spill.ndjson";
+    private static final String REPLAY_SUFFIX = ".replay";
+
+    private final BlockingQueue<DogAuditRecord> queue;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+    private final Path spillDirectory;
+    private final ObjectMapper objectMapper;
+    private final Counter queued;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Object spillLock = new Object();
+    private int replaySequence;
+
+    public DogAuditQueue(@Value("${dog-shelter.audit.queue-capacity:8192}") int capacity,
+                         @Value("${dog-shelter.audit.overflow:drop}") AuditOverflowPolicy overflowPolicy,
+                         @Value("${dog-shelter.audit.block-timeout:1s}") Duration blockTimeout,
+                         @Value("${dog-shelter.audit.spill-directory:${java.io.tmpdir}/dog-shelter-audit}") Path spillDirectory,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.spillDirectory = spillDirectory;
+        this.objectMapper = objectMapper;
+        this.queued = outcomeCounter(meterRegistry, "queued");
+        this.dropped = outcomeCounter(meterRegistry, "dropped");
+        this.spilled = outcomeCounter(meterRegistry, "spilled");
+        Gauge.builder("dog.audit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("dog.audit.queue.capacity", queue, q -> q.size() + q.remainingCapacity()).register(meterRegistry);
+    }
+
+    static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(EVENTS_METER).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDogChanged(DogChangedEvent event) {
+        offer(new DogAuditRecord(event.id(), event.type(), event.before(), event.after(), Instant.now()));
+    }
+
+    void offer(DogAuditRecord record) {
+        if (queue.offer(record)) {
+            queued.increment();
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                if (offerWithin(record, blockTimeout)) {
+                    queued.increment();
+                } else {
+                    dropped.increment();
+                }
+            }
+            case SPILL -> spill(List.of(record));
+            case DROP -> dropped.increment();
+        }
+    }
+
+    private boolean offerWithin(DogAuditRecord record, Duration timeout) {
+        try {
+            return queue.offer(record, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    DogAuditRecord poll(Duration timeout) throws InterruptedException {
+        return queue.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    int drainTo(List<DogAuditRecord> batch, int maxRecords) {
+        return queue.drainTo(batch, maxRecords);
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    AuditOverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Appends the records to the spill file. Also used by the writer for
+     * batches it could not persist. Counted as dropped if the file can't be
+     * written either.
+     */
+    void spill(List<DogAuditRecord> records) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillDirectory);
+                try (BufferedWriter writer = Files.newBufferedWriter(spillDirectory.resolve(SPILL_FILE), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (DogAuditRecord record : records) {
+                        writer.write(objectMapper.writeValueAsString(record));
+                        writer.newLine();
+                    }
+                }
+                spilled.increment(records.size());
+            } catch (IOException e) {
+                log.error("Could not spill {} audit records to {}", records.size(), spillDirectory, e);
+                dropped.increment(records.size());
+            }
+        }
+    }
+
+    /**
+     * Moves the current spill file aside and returns every file waiting to be
+     * replayed, including the ones left by a previous run. New overflow goes to
+     * a fresh spill file meanwhile.
+     */
+    List<Path> takeSpillFiles() {
+        List<Path> files = new ArrayList<>();
+        synchronized (spillLock) {
+            if (!Files.isDirectory(spillDirectory)) {
+                return files;
+            }
+            try {
+                Path spillFile = spillDirectory.resolve(SPILL_FILE);
+                if (Files.exists(spillFile)) {
+                    // Zero-padded so that sorting the names replays the files in the order they were spilled
+                    String replayFile = String.format("%020d-%06d%s", System.currentTimeMillis(), replaySequence++, REPLAY_SUFFIX);
+                    Files.move(spillFile, spillDirectory.resolve(replayFile), StandardCopyOption.ATOMIC_MOVE);
+                }
+                try (DirectoryStream<Path> replayFiles = Files.newDirectoryStream(spillDirectory, "*" + REPLAY_SUFFIX)) {
+                    replayFiles.forEach(files::add);
+                }
+            } catch (IOException e) {
+                log.error("Could not list the audit spill files in {}", spillDirectory, e);
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    List<DogAuditRecord> readSpillFile(Path file) {
+        List<DogAuditRecord> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records.add(objectMapper.readValue(line, DogAuditRecord.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,18 @@
+package dev.jackson.dog_shelter_api.audit;
+
+import java.time.Instant;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+
+/**
+ * A committed change waiting in {@link DogAuditQueue}, also the line format of
+ * the spill files.
+ */
+public record DogAuditRecord(
+    Long dogId,
+    DogChangeType type,
+    DogDTO before,
+    DogDTO after,
+    Instant changedAt
+){}
@@ -0,0 +1,221 @@
+package dev.jackson.dog_shelter_api.audit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.entity.DogAuditEntry;
+import dev.jackson.dog_shelter_api.enums.AuditOverflowPolicy;
+import dev.jackson.dog_shelter_api.repository.DogAuditRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains {@link DogAuditQueue} on a single background thread and inserts the
+ * records in JDBC batches, one transaction per batch. Batches form naturally:
+ * under load the queue holds many records, when idle each record is written
+ * as soon as it arrives. Spill files are replayed whenever the queue is empty.
+ * <p>
+ * Stops after the web server (lower phase), then writes everything still
+ * queued or spilled before the application context closes the data source.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class DogAuditWriter implements SmartLifecycle {
+
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final DogAuditQueue dogAuditQueue;
+    private final DogAuditRepository dogAuditRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration shutdownTimeout;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public DogAuditWriter(DogAuditQueue dogAuditQueue, DogAuditRepository dogAuditRepository, EntityManager entityManager,
+                          TransactionTemplate transactionTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          @Value("${dog-shelter.audit.batch-size:50}") int batchSize,
+                          @Value("${dog-shelter.audit.flush-interval:200ms}") Duration flushInterval,
+                          @Value("${dog-shelter.audit.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.dogAuditQueue = dogAuditQueue;
+        this.dogAuditRepository = dogAuditRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.shutdownTimeout = shutdownTimeout;
+        this.written = DogAuditQueue.outcomeCounter(meterRegistry, "written");
+        this.failed = DogAuditQueue.outcomeCounter(meterRegistry, "failed");
+        this.batchTimer = Timer.builder("dog.audit.batch").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("dog-audit-writer").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        try {
+            if (!thread.join(shutdownTimeout)) {
+                log.warn("The audit writer did not finish within {}, unwritten records are lost", shutdownTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void run() {
+        List<DogAuditRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                DogAuditRecord first = dogAuditQueue.poll(flushInterval);
+                if (first == null) {
+                    replaySpillFiles();
+                    continue;
+                }
+                batch.add(first);
+                dogAuditQueue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("The audit writer failed, continuing", e);
+            }
+        }
+        flush();
+    }
+
+    // Called once the writer is stopping: nothing new arrives, so draining until empty terminates
+    private void flush() {
+        List<DogAuditRecord> batch = new ArrayList<>(batchSize);
+        while (dogAuditQueue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+        }
+        replaySpillFiles();
+    }
+
+    /**
+     * Writes and clears the batch. A batch that fails is spilled with the
+     * spill policy and counted as failed otherwise.
+     */
+    private void writeBatch(List<DogAuditRecord> batch) {
+        try {
+            insert(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.error("Could not write {} audit records", batch.size(), e);
+            if (dogAuditQueue.overflowPolicy() == AuditOverflowPolicy.SPILL) {
+                dogAuditQueue.spill(List.copyOf(batch));
+            } else {
+                failed.increment(batch.size());
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void insert(List<DogAuditRecord> records) {
+        List<DogAuditEntry> entries = new ArrayList<>(records.size());
+        for (DogAuditRecord record : records) {
+            entries.add(DogAuditEntry.builder()
+                    .dogId(record.dogId())
+                    .changeType(record.type())
+                    .beforeState(toJson(record.before()))
+                    .afterState(toJson(record.after()))
+                    .changedAt(record.changedAt())
+                    .build());
+        }
+        batchTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            dogAuditRepository.saveAll(entries);
+            entityManager.flush();
+            entityManager.clear();
+        }));
+    }
+
+    /**
+     * At-least-once: a file is deleted after its records are written, or after
+     * the unwritten rest was spilled again. A crash in between replays the
+     * file a second time.
+     */
+    private void replaySpillFiles() {
+        for (Path file : dogAuditQueue.takeSpillFiles()) {
+            int replayed = 0;
+            try {
+                List<DogAuditRecord> records = dogAuditQueue.readSpillFile(file);
+                try {
+                    while (replayed < records.size()) {
+                        int end = Math.min(replayed + batchSize, records.size());
+                        insert(records.subList(replayed, end));
+                        replayed = end;
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Could not replay the audit spill file {}, {} records are spilled again", file,
+                            records.size() - replayed, e);
+                    dogAuditQueue.spill(List.copyOf(records.subList(replayed, records.size())));
+                }
+                written.increment(replayed);
+                Files.delete(file);
+                if (replayed < records.size()) {
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Could not read the audit spill file {}", file, e);
+                return;
+            }
+        }
+    }
+
+    private String toJson(DogDTO dogDTO) {
+        if (dogDTO == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(dogDTO);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + dogDTO, e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+
+/**
+ * Broadcast to the other nodes after a committed change. {@code version} is
+ * the version the change produced, {@link DogNearCache#ANY_VERSION} when it
+ * isn't known. {@code dog} is the record after the change, null for deletions.
+ */
+public record DogCacheInvalidation(String origin, DogChangeType type, Long id, long version, DogDTO dog) {}
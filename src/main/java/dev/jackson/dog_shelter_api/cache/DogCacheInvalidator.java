@@ -0,0 +1,92 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import dev.jackson.dog_shelter_api.feed.DogChangeFeed;
+import dev.jackson.dog_shelter_api.infra.CacheConfigurations;
+import dev.jackson.dog_shelter_api.search.DogNameIndex;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Invalidates the caches once a mutation has been committed, on this node
+ * right away and on the others through the {@link DogCacheTransport}. Updates
+ * and deletes run as single statements and don't load the previous record, so
+ * entries are invalidated by id. That covers the old name of a renamed dog.
+ * A change on another node also moves the collection ETag of this one, and
+ * reaches its name index and change feed when the servlet stack runs them.
+ */
+@Slf4j
+@Component
+public class DogCacheInvalidator {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final DogNearCache dogsByName;
+    private final Cache dogStats;
+    private final DogChangeCounter dogChangeCounter;
+    private final DogCacheTransport dogCacheTransport;
+    private final Optional<DogNameIndex> dogNameIndex;
+    private final Optional<DogChangeFeed> dogChangeFeed;
+
+    public DogCacheInvalidator(CacheManager cacheManager, DogChangeCounter dogChangeCounter,
+                               DogCacheTransport dogCacheTransport, Optional<DogNameIndex> dogNameIndex,
+                               Optional<DogChangeFeed> dogChangeFeed) {
+        this.dogsByName = (DogNearCache) cacheManager.getCache(CacheConfigurations.DOGS_BY_NAME);
+        this.dogStats = cacheManager.getCache(CacheConfigurations.DOG_STATS);
+        this.dogChangeCounter = dogChangeCounter;
+        this.dogCacheTransport = dogCacheTransport;
+        this.dogNameIndex = dogNameIndex;
+        this.dogChangeFeed = dogChangeFeed;
+        dogCacheTransport.subscribe(this::onInvalidation);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDogChanged(DogChangedEvent event) {
+        DogCacheInvalidation invalidation = new DogCacheInvalidation(nodeId, event.type(), event.id(), versionOf(event),
+                event.after());
+        apply(invalidation);
+        try {
+            dogCacheTransport.publish(invalidation);
+        } catch (RuntimeException e) {
+            // The change is committed, the other nodes catch up when their entries expire
+            log.warn("Could not broadcast the invalidation of dog {}", event.id(), e);
+        }
+    }
+
+    void onInvalidation(DogCacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        apply(invalidation);
+        dogChangeCounter.onRemoteChange();
+        // Called directly rather than published, the audit trail and the broadcast belong to the origin node
+        DogChangedEvent change = new DogChangedEvent(invalidation.type(), invalidation.id(), null, invalidation.dog());
+        dogNameIndex.ifPresent(index -> index.onDogChanged(change));
+        dogChangeFeed.ifPresent(feed -> feed.onDogChanged(change));
+    }
+
+    private void apply(DogCacheInvalidation invalidation) {
+        // A new dog has a new id, there is nothing cached under it yet
+        if (invalidation.type() != DogChangeType.REGISTERED) {
+            dogsByName.invalidate(invalidation.id(), invalidation.version());
+        }
+        dogStats.clear();
+    }
+
+    private static long versionOf(DogChangedEvent event) {
+        DogDTO after = event.after();
+        if (event.type() == DogChangeType.DELETED || after == null || after.version() == null) {
+            return DogNearCache.ANY_VERSION;
+        }
+        return after.version();
+    }
+}
@@ -0,0 +1,15 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between the nodes. Delivery is best effort: a
+ * lost message leaves a stale entry until the cache TTL. Subscribers may also
+ * receive the messages their own node published.
+ */
+public interface DogCacheTransport {
+
+    void publish(DogCacheInvalidation invalidation);
+
+    void subscribe(Consumer<DogCacheInvalidation> subscriber);
+}
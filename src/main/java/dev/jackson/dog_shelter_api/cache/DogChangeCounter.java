@@ -0,0 +1,95 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+
+/**
+ * Counts committed mutations so the listing can be tagged with a collection
+ * ETag without touching the database. The start time is part of the tag, so
+ * tags from before a restart never match.
+ * <p>
+ * Only changes this node hears about move the count. A write it never learns
+ * of, from another JVM on the {@code in-process} transport, a lost broadcast
+ * or a direct write to the database, is served as unchanged for at most
+ * {@code dog-shelter.cache.collection-etag.max-age}, after which every tag
+ * changes anyway.
+ * <p>
+ * A change moves the tag as soon as it is committed on the primary, while a
+ * replica may not show it for a while. For
+ * {@code dog-shelter.datasource.replicas.catch-up-window} after a change,
+ * {@link #changedRecently()} tells the listing to read the primary, so a page
+ * is never tagged with a count it doesn't reflect.
+ */
+@Component
+public class DogChangeCounter {
+
+    private final long epoch;
+    private final long maxAgeMillis;
+    private final long catchUpMillis;
+    private final LongSupplier clock;
+    private final AtomicLong changes = new AtomicLong();
+    private volatile long lastChangeAt = NEVER;
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    @Autowired
+    public DogChangeCounter(@Value("${dog-shelter.cache.collection-etag.max-age:30s}") Duration maxAge,
+                            @Value("${dog-shelter.datasource.replicas.catch-up-window:10s}") Duration catchUpWindow) {
+        this(maxAge, catchUpWindow, System::currentTimeMillis);
+    }
+
+    DogChangeCounter(Duration maxAge, Duration catchUpWindow, LongSupplier clock) {
+        this.maxAgeMillis = Math.max(1, maxAge.toMillis());
+        this.catchUpMillis = catchUpWindow.toMillis();
+        this.clock = clock;
+        this.epoch = clock.getAsLong();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDogChanged(DogChangedEvent event) {
+        countChange();
+    }
+
+    /**
+     * A change committed by another node, see {@link DogCacheInvalidator}.
+     */
+    public void onRemoteChange() {
+        countChange();
+    }
+
+    private void countChange() {
+        lastChangeAt = clock.getAsLong();
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Whether a change counted in the tag may still be missing from a replica.
+     * Read after the tag, a change counted later only moves the next tag.
+     */
+    public boolean changedRecently() {
+        long changedAt = lastChangeAt;
+        return changedAt != NEVER && clock.getAsLong() - changedAt < catchUpMillis;
+    }
+
+    /**
+     * Must be read before the page is queried: a change committed in between then
+     * produces a newer tag on the next poll instead of a 304 for stale data.
+     */
+    public String collectionETag(DogFilter filter, String cursor, int limit) {
+        int query = Objects.hash(filter, cursor, limit);
+        long period = (clock.getAsLong() - epoch) / maxAgeMillis;
+        return "\"" + Long.toHexString(epoch) + "-" + changes.get() + "-" + Long.toHexString(period) + "-"
+                + Integer.toHexString(query) + "\"";
+    }
+}
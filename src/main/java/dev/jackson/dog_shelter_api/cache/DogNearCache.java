@@ -0,0 +1,83 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.time.Duration;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+
+/**
+ * The per-node name lookup cache. Invalidations are per dog and carry the
+ * version the change produced. They leave a tombstone for the dog, so a lookup
+ * that read the database before the change and stores its result after the
+ * invalidation is refused instead of caching the old record until the TTL. A
+ * late or duplicated invalidation only evicts entries older than its version.
+ */
+public class DogNearCache extends CaffeineCache {
+
+    // The version of tombstones for deletes and for updates whose new version isn't known
+    public static final long ANY_VERSION = Long.MAX_VALUE;
+    private static final int LOCK_STRIPES = 64;
+
+    private final Cache<Long, Long> tombstones;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public DogNearCache(String name, Cache<Object, Object> cache, Duration tombstoneTtl) {
+        super(name, cache, false);
+        this.tombstones = Caffeine.newBuilder().expireAfterWrite(tombstoneTtl).build();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!(value instanceof DogDTO dogDTO) || dogDTO.id() == null) {
+            super.put(key, value);
+            return;
+        }
+        synchronized (lockFor(dogDTO.id())) {
+            if (!isStale(dogDTO, tombstones.getIfPresent(dogDTO.id()))) {
+                super.put(key, value);
+            }
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (!(value instanceof DogDTO dogDTO) || dogDTO.id() == null) {
+            return super.putIfAbsent(key, value);
+        }
+        synchronized (lockFor(dogDTO.id())) {
+            if (isStale(dogDTO, tombstones.getIfPresent(dogDTO.id()))) {
+                return get(key);
+            }
+            return super.putIfAbsent(key, value);
+        }
+    }
+
+    /**
+     * Evicts every entry of the dog older than {@code version}, under any
+     * name, and refuses such entries until the tombstone expires.
+     */
+    public void invalidate(Long id, long version) {
+        synchronized (lockFor(id)) {
+            Long minimumVersion = tombstones.asMap().merge(id, version, Math::max);
+            // Linear in the number of cached entries, which the cache itself bounds
+            getNativeCache().asMap().values()
+                    .removeIf(cached -> cached instanceof DogDTO dogDTO && id.equals(dogDTO.id())
+                            && isStale(dogDTO, minimumVersion));
+        }
+    }
+
+    private static boolean isStale(DogDTO dogDTO, Long minimumVersion) {
+        return minimumVersion != null && (dogDTO.version() == null || dogDTO.version() < minimumVersion);
+    }
+
+    private Object lockFor(Long id) {
+        return locks[Long.hashCode(id) & (LOCK_STRIPES - 1)];
+    }
+}
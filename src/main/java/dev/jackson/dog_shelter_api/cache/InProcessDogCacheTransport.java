@@ -0,0 +1,55 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers invalidations to every application context of the same JVM
+ * subscribed to the channel, synchronously. A single node has no one to
+ * notify; several contexts in one JVM, as in tests, behave like a cluster.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dog-shelter.cache.coherence.transport", havingValue = "in-process", matchIfMissing = true)
+public class InProcessDogCacheTransport implements DogCacheTransport {
+
+    private static final Map<String, Set<Consumer<DogCacheInvalidation>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final Set<Consumer<DogCacheInvalidation>> subscribers;
+    private final Set<Consumer<DogCacheInvalidation>> ownSubscribers = ConcurrentHashMap.newKeySet();
+
+    public InProcessDogCacheTransport(@Value("${dog-shelter.cache.coherence.channel:dog-shelter-cache}") String channel) {
+        this.subscribers = CHANNELS.computeIfAbsent(channel, name -> ConcurrentHashMap.newKeySet());
+    }
+
+    @Override
+    public void publish(DogCacheInvalidation invalidation) {
+        for (Consumer<DogCacheInvalidation> subscriber : subscribers) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("A subscriber failed to apply the invalidation of dog {}", invalidation.id(), e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<DogCacheInvalidation> subscriber) {
+        ownSubscribers.add(subscriber);
+        subscribers.add(subscriber);
+    }
+
+    @PreDestroy
+    void close() {
+        subscribers.removeAll(ownSubscribers);
+    }
+}
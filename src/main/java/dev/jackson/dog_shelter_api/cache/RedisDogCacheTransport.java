@@ -0,0 +1,84 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes invalidations as JSON on a Redis pub/sub channel. Works with any
+ * server speaking the Redis protocol. Pub/sub keeps nothing: a node that is
+ * disconnected misses the messages sent meanwhile, and its entries expire
+ * with the cache TTL.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dog-shelter.cache.coherence.transport", havingValue = "redis")
+public class RedisDogCacheTransport implements DogCacheTransport {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final ChannelTopic topic;
+
+    @Autowired
+    public RedisDogCacheTransport(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory,
+                                  ObjectMapper objectMapper,
+                                  @Value("${dog-shelter.cache.coherence.channel:dog-shelter-cache}") String channel) {
+        this(redisTemplate, startedContainer(connectionFactory), objectMapper, channel);
+    }
+
+    RedisDogCacheTransport(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                           ObjectMapper objectMapper, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.topic = new ChannelTopic(channel);
+    }
+
+    private static RedisMessageListenerContainer startedContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+
+    @Override
+    public void publish(DogCacheInvalidation invalidation) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), objectMapper.writeValueAsString(invalidation));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + invalidation, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<DogCacheInvalidation> subscriber) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                subscriber.accept(objectMapper.readValue(message.getBody(), DogCacheInvalidation.class));
+            } catch (IOException e) {
+                log.warn("Ignoring an unreadable cache invalidation on {}", topic.getTopic(), e);
+            }
+        }, topic);
+    }
+
+    @PreDestroy
+    void close() throws Exception {
+        listenerContainer.destroy();
+    }
+}
@@ -1,52 +1,213 @@
 package dev.jackson.dog_shelter_api.controller;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import dev.jackson.dog_shelter_api.cache.DogChangeCounter;
+import dev.jackson.dog_shelter_api.dto.DogAdoptionDTO;
+import dev.jackson.dog_shelter_api.dto.DogBatchResultDTO;
 import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.dto.DogHistoryEntryDTO;
+import dev.jackson.dog_shelter_api.dto.DogNameMatchDTO;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.dto.DogReservationDTO;
+import dev.jackson.dog_shelter_api.dto.DogStatsDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.exception.InvalidDataException;
+import dev.jackson.dog_shelter_api.feed.DogChangeFeed;
+import dev.jackson.dog_shelter_api.idempotency.IdempotencyKeyStore;
+import dev.jackson.dog_shelter_api.infra.ReplicaRoutingDataSource;
+import dev.jackson.dog_shelter_api.ratelimit.RateLimit;
+import dev.jackson.dog_shelter_api.service.DogAdoptionService;
 import dev.jackson.dog_shelter_api.service.DogService;
+import dev.jackson.dog_shelter_api.service.DogServiceMetrics;
 import jakarta.validation.Valid;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 
 @RestController
 @RequestMapping("/api/v1/dogs")
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
 public class DogController {
     
     private final DogService dogService;
+    private final DogChangeCounter dogChangeCounter;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final DogChangeFeed dogChangeFeed;
+    private final DogAdoptionService dogAdoptionService;
+    private final DogServiceMetrics dogServiceMetrics;
 
-    public DogController(DogService dogService) {
+    public DogController(DogService dogService, DogChangeCounter dogChangeCounter, ObjectMapper objectMapper,
+                         IdempotencyKeyStore idempotencyKeyStore, DogChangeFeed dogChangeFeed,
+                         DogAdoptionService dogAdoptionService, DogServiceMetrics dogServiceMetrics) {
         this.dogService = dogService;
+        this.dogChangeCounter = dogChangeCounter;
+        this.objectMapper = objectMapper;
+        this.idempotencyKeyStore = idempotencyKeyStore;
+        this.dogChangeFeed = dogChangeFeed;
+        this.dogAdoptionService = dogAdoptionService;
+        this.dogServiceMetrics = dogServiceMetrics;
     }
 
+    @RateLimit("list")
     @GetMapping
-    public ResponseEntity<List<DogDTO>> listAllDogs(){
-        return ResponseEntity.ok().body(dogService.listAll());
+    public ResponseEntity<DogPageDTO> listAllDogs(@RequestParam(required = false) DogSize size,
+                                                  @RequestParam(required = false) String age,
+                                                  @RequestParam(required = false) String gender,
+                                                  @RequestParam(required = false) String status,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "" + DogService.DEFAULT_PAGE_SIZE) int limit,
+                                                  WebRequest webRequest){
+        DogFilter filter = new DogFilter(size, age, gender, status);
+        String eTag = dogChangeCounter.collectionETag(filter, cursor, limit);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        // A replica may not show a change the tag already counts yet
+        DogPageDTO page = dogChangeCounter.changedRecently()
+                ? ReplicaRoutingDataSource.onPrimary(() -> dogService.listAll(filter, cursor, limit))
+                : dogService.listAll(filter, cursor, limit);
+        return ResponseEntity.ok().eTag(eTag).body(page);
+    }
+
+    @RateLimit("stats")
+    @GetMapping("/stats")
+    public ResponseEntity<DogStatsDTO> stats(){
+        return ResponseEntity.ok().body(dogService.stats());
+    }
+
+    @RateLimit("search")
+    @GetMapping("/search")
+    public ResponseEntity<List<DogNameMatchDTO>> search(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "" + DogService.DEFAULT_SEARCH_LIMIT) int limit){
+        return ResponseEntity.ok().body(dogService.searchByName(q, limit));
+    }
+
+    @RateLimit(value = "changes", shed = false)
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return dogChangeFeed.subscribe(lastEventId);
+    }
+
+    @RateLimit("export")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDogs() {
+        StreamingResponseBody body = dogService::exportAll;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
+    @RateLimit("lookup")
     @GetMapping("/{name}")
-    public ResponseEntity<DogDTO> findByName(@PathVariable String name) {
-        DogDTO beer = dogService.findByName(name);
-        return ResponseEntity.ok().body(beer);
+    public ResponseEntity<DogDTO> findByName(@PathVariable String name, WebRequest webRequest) {
+        // Timed around the cache, so hits are part of the latency and throughput
+        DogDTO beer = dogServiceMetrics.record("findByName", () -> dogService.findByName(name));
+        // Validated against the cached record, a poll only reaches the database on a cache miss
+        if (webRequest.checkNotModified(beer.version() == null ? null : versionETag(beer.version()),
+                beer.updatedAt() == null ? -1 : beer.updatedAt().toEpochMilli())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (beer.version() != null) {
+            response.eTag(versionETag(beer.version()));
+        }
+        if (beer.updatedAt() != null) {
+            response.lastModified(beer.updatedAt());
+        }
+        return response.body(beer);
     }
 
+    @RateLimit("history")
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<DogHistoryEntryDTO>> history(@PathVariable Long id){
+        return ResponseEntity.ok().body(dogService.findHistory(id));
+    }
+
+    @RateLimit("register")
     @PostMapping
-    public ResponseEntity<DogDTO> registerDogsRecord(@RequestBody @Valid DogDTO dogDTO, UriComponentsBuilder uriComponentsBuilder) {
+    public ResponseEntity<DogDTO> registerDogsRecord(@RequestBody @Valid DogDTO dogDTO,
+                                                     @RequestHeader(name = IdempotencyKeyStore.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                     UriComponentsBuilder uriComponentsBuilder) {
+        if (idempotencyKey == null) {
+            return registerDog(dogDTO, uriComponentsBuilder);
+        }
+        return idempotencyKeyStore.execute(idempotencyKey, dogDTO, () -> registerDog(dogDTO, uriComponentsBuilder));
+    }
+
+    private ResponseEntity<DogDTO> registerDog(DogDTO dogDTO, UriComponentsBuilder uriComponentsBuilder) {
         var dog = dogService.registerDog(dogDTO);
         var uri = uriComponentsBuilder.path("/dog/").buildAndExpand(dog.id()).toUri();
                                     
         return ResponseEntity.created(uri).body(dog);
     }
 
+    @RateLimit("batch")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<DogBatchResultDTO>> registerDogsBatch(@RequestBody List<DogDTO> dogDTOs) {
+        return ResponseEntity.ok().body(dogService.registerDogs(dogDTOs));
+    }
+
+    @RateLimit("batch")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<DogBatchResultDTO>> registerDogsBatchFromNdjson(InputStream body) throws IOException {
+        List<DogDTO> dogDTOs = new ArrayList<>();
+        try (MappingIterator<DogDTO> iterator = objectMapper.readerFor(DogDTO.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                // Stops reading at the first line over the limit instead of buffering the whole body
+                if (dogDTOs.size() == DogService.MAX_BATCH_SIZE) {
+                    throw new InvalidDataException(String.format(
+                            "A batch must contain between 1 and %d dogs", DogService.MAX_BATCH_SIZE));
+                }
+                dogDTOs.add(iterator.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidDataException("Malformed NDJSON body: " + e.getOriginalMessage());
+        }
+        return ResponseEntity.ok().body(dogService.registerDogs(dogDTOs));
+    }
+
+    @RateLimit("delete")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteById(@PathVariable Long id) {
         dogService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 
+    @RateLimit("reserve")
+    @PostMapping("/{id}/reserve")
+    public ResponseEntity<DogReservationDTO> reserve(@PathVariable Long id) {
+        return ResponseEntity.ok().body(dogAdoptionService.reserve(id));
+    }
+
+    @RateLimit("adopt")
+    @PostMapping("/{id}/adopt")
+    public ResponseEntity<String> adopt(@PathVariable Long id, @RequestBody @Valid DogAdoptionDTO dogAdoptionDTO) {
+        dogAdoptionService.adopt(id, dogAdoptionDTO.reservationToken());
+
+        return ResponseEntity.ok().body("The dog has been adopted.");
+    }
+
+    private static String versionETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    @RateLimit("update")
     @PutMapping("/{id}")
     public ResponseEntity<String> updateDogsInfo(@PathVariable Long id, @RequestBody @Valid DogDTO dogDTO) {
         dogService.updateDogsRecord(id, dogDTO);
@@ -0,0 +1,107 @@
+package dev.jackson.dog_shelter_api.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import dev.jackson.dog_shelter_api.cache.DogChangeCounter;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.dto.DogStatsDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.service.DogService;
+import dev.jackson.dog_shelter_api.service.ReactiveDogService;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@link DogController} endpoints on WebFlux, active when the application
+ * runs as a reactive web application (the {@code reactive} profile). Asking
+ * the listing for NDJSON streams every matching dog instead of one page.
+ */
+@RestController
+@RequestMapping("/api/v1/dogs")
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "reactive")
+public class ReactiveDogController {
+
+    private final ReactiveDogService dogService;
+    private final DogChangeCounter dogChangeCounter;
+
+    public ReactiveDogController(ReactiveDogService dogService, DogChangeCounter dogChangeCounter) {
+        this.dogService = dogService;
+        this.dogChangeCounter = dogChangeCounter;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<DogPageDTO>> listAll(@RequestParam(required = false) DogSize size,
+                                                    @RequestParam(required = false) String age,
+                                                    @RequestParam(required = false) String gender,
+                                                    @RequestParam(required = false) String status,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "" + DogService.DEFAULT_PAGE_SIZE) int limit,
+                                                    ServerWebExchange exchange){
+        DogFilter filter = new DogFilter(size, age, gender, status);
+        String eTag = dogChangeCounter.collectionETag(filter, cursor, limit);
+        if (exchange.checkNotModified(eTag)) {
+            return Mono.empty();
+        }
+        return dogService.listAll(filter, cursor, limit).map(page -> ResponseEntity.ok().eTag(eTag).body(page));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DogDTO> streamAll(@RequestParam(required = false) DogSize size,
+                                  @RequestParam(required = false) String age,
+                                  @RequestParam(required = false) String gender,
+                                  @RequestParam(required = false) String status){
+        return dogService.streamAll(new DogFilter(size, age, gender, status));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DogDTO> exportAll() {
+        return dogService.streamAll(DogFilter.none());
+    }
+
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<DogStatsDTO>> stats(){
+        return dogService.stats().map(stats -> ResponseEntity.ok().body(stats));
+    }
+
+    // ETag and Last-Modified let WebFlux answer If-None-Match/If-Modified-Since with a 304
+    @GetMapping("/{name}")
+    public Mono<ResponseEntity<DogDTO>> findByName(@PathVariable String name) {
+        return dogService.findByName(name).map(dog -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (dog.version() != null) {
+                response.eTag("\"" + dog.version() + "\"");
+            }
+            if (dog.updatedAt() != null) {
+                response.lastModified(dog.updatedAt());
+            }
+            return response.body(dog);
+        });
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<DogDTO>> registerDogsRecord(@RequestBody @Valid DogDTO dogDTO, UriComponentsBuilder uriComponentsBuilder) {
+        return dogService.registerDog(dogDTO).map(dog -> {
+            var uri = uriComponentsBuilder.path("/dog/").buildAndExpand(dog.id()).toUri();
+            return ResponseEntity.created(uri).body(dog);
+        });
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteById(@PathVariable Long id) {
+        return dogService.deleteById(id).then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<String>> updateDogsInfo(@PathVariable Long id, @RequestBody @Valid DogDTO dogDTO) {
+        return dogService.updateDogsRecord(id, dogDTO)
+                .then(Mono.just(ResponseEntity.ok().body("The dog's record has been updated.")));
+    }
+}
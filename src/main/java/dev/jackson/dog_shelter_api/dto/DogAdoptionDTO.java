@@ -0,0 +1,7 @@
+package dev.jackson.dog_shelter_api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record DogAdoptionDTO(
+    @NotBlank String reservationToken
+){}
@@ -0,0 +1,19 @@
+package dev.jackson.dog_shelter_api.dto;
+
+import dev.jackson.dog_shelter_api.enums.BatchItemStatus;
+
+public record DogBatchResultDTO(
+    int index,
+    String name,
+    Long id,
+    BatchItemStatus status,
+    String message
+){
+    public static DogBatchResultDTO created(int index, String name, Long id) {
+        return new DogBatchResultDTO(index, name, id, BatchItemStatus.CREATED, null);
+    }
+
+    public static DogBatchResultDTO rejected(int index, String name, BatchItemStatus status, String message) {
+        return new DogBatchResultDTO(index, name, null, status, message);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.jackson.dog_shelter_api.dto;
+
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+
+/**
+ * Data of a change feed event, {@code dog} is null for deletions.
+ */
+public record DogChangeDTO(
+    DogChangeType type,
+    Long id,
+    DogDTO dog
+){}
@@ -0,0 +1,12 @@
+package dev.jackson.dog_shelter_api.dto;
+
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+
+public record DogCountDTO(
+    DogSize size,
+    DogAge age,
+    DogGender gender,
+    Long count
+){}
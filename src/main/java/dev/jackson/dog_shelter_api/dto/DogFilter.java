@@ -0,0 +1,14 @@
+package dev.jackson.dog_shelter_api.dto;
+
+import dev.jackson.dog_shelter_api.enums.DogSize;
+
+public record DogFilter(
+    DogSize size,
+    String age,
+    String gender,
+    String status
+){
+    public static DogFilter none() {
+        return new DogFilter(null, null, null, null);
+    }
+}
@@ -0,0 +1,12 @@
+package dev.jackson.dog_shelter_api.dto;
+
+import java.time.Instant;
+
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+
+public record DogHistoryEntryDTO(
+    DogChangeType type,
+    Instant changedAt,
+    DogDTO before,
+    DogDTO after
+){}
@@ -0,0 +1,6 @@
+package dev.jackson.dog_shelter_api.dto;
+
+public record DogNameDTO(
+    Long id,
+    String name
+){}
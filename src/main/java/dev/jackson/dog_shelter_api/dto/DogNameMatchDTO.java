@@ -0,0 +1,7 @@
+package dev.jackson.dog_shelter_api.dto;
+
+public record DogNameMatchDTO(
+    Long id,
+    String name,
+    int distance
+){}
@@ -0,0 +1,8 @@
+package dev.jackson.dog_shelter_api.dto;
+
+import java.util.List;
+
+public record DogPageDTO(
+    List<DogDTO> content,
+    String nextCursor
+){}
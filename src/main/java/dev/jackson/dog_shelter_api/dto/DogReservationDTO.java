@@ -0,0 +1,9 @@
+package dev.jackson.dog_shelter_api.dto;
+
+import java.time.Instant;
+
+public record DogReservationDTO(
+    Long dogId,
+    String reservationToken,
+    Instant reservedUntil
+){}
@@ -0,0 +1,38 @@
+package dev.jackson.dog_shelter_api.dto;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+
+public record DogStatsDTO(
+    long total,
+    Map<DogSize, Long> bySize,
+    Map<DogAge, Long> byAge,
+    Map<DogGender, Long> byGender
+){
+    // Sums the (size, age, gender) groups per dimension, listing empty categories as zero
+    public static DogStatsDTO from(Iterable<DogCountDTO> counts) {
+        Map<DogSize, Long> bySize = zeroCounts(DogSize.class);
+        Map<DogAge, Long> byAge = zeroCounts(DogAge.class);
+        Map<DogGender, Long> byGender = zeroCounts(DogGender.class);
+        long total = 0;
+        for (DogCountDTO count : counts) {
+            bySize.merge(count.size(), count.count(), Long::sum);
+            byAge.merge(count.age(), count.count(), Long::sum);
+            byGender.merge(count.gender(), count.count(), Long::sum);
+            total += count.count();
+        }
+        return new DogStatsDTO(total, bySize, byAge, byGender);
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeroCounts(Class<E> enumClass) {
+        Map<E, Long> counts = new EnumMap<>(enumClass);
+        for (E constant : enumClass.getEnumConstants()) {
+            counts.put(constant, 0L);
+        }
+        return counts;
+    }
+}
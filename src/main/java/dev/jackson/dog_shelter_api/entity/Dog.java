@@ -1,6 +1,11 @@
 package dev.jackson.dog_shelter_api.entity;
 
+import java.time.Instant;
+
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogGender;
 import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,6 +13,11 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -20,23 +30,55 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_dog_size_id", columnList = "size, id"),
+        @Index(name = "idx_dog_age_id", columnList = "age, id"),
+        @Index(name = "idx_dog_gender_id", columnList = "gender, id"),
+        @Index(name = "idx_dog_status_id", columnList = "status, id"),
+        @Index(name = "idx_dog_reserved_until", columnList = "reservedUntil")
+})
 public class Dog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dog_seq")
+    @SequenceGenerator(name = "dog_seq", sequenceName = "dog_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
     private String name;
 
+    @Enumerated(EnumType.STRING)
     @Column(nullable = false)
-    private String gender;
+    private DogGender gender;
 
+    @Enumerated(EnumType.STRING)
     @Column(nullable = false)
-    private String age;
+    private DogAge age;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private DogSize size;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DogStatus status;
+
+    // Both set while the dog is reserved, null otherwise
+    private Instant reservedUntil;
+
+    @Column(length = 36)
+    private String reservationToken;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    void touchUpdatedAt() {
+        updatedAt = Instant.now();
+    }
+
 }
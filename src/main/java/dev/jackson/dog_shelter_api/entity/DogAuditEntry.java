@@ -0,0 +1,58 @@
+package dev.jackson.dog_shelter_api.entity;
+
+import java.time.Instant;
+
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One row per committed change, never updated. The states are the
+ * {@code DogDTO} JSON, {@code beforeState} is null for registrations and for
+ * updates and deletes audited before it was recorded.
+ */
+@Entity
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "dog_audit", indexes = {
+        @Index(name = "idx_dog_audit_dog_id", columnList = "dogId, changedAt")
+})
+public class DogAuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dog_audit_seq")
+    @SequenceGenerator(name = "dog_audit_seq", sequenceName = "dog_audit_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long dogId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DogChangeType changeType;
+
+    @Column(length = 1000)
+    private String beforeState;
+
+    @Column(length = 1000)
+    private String afterState;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,48 @@
+package dev.jackson.dog_shelter_api.entity;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * R2DBC mapping of the {@code dog} table used by the reactive stack. The schema
+ * is the one {@link Dog} maps, so both stacks can run against the same database.
+ */
+@Table("dog")
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DogRecord {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    private DogGender gender;
+
+    private DogAge age;
+
+    private DogSize size;
+
+    private DogStatus status;
+
+    @Version
+    private Long version;
+
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package dev.jackson.dog_shelter_api.enums;
+
+/**
+ * What happens to an audit record when the in-memory queue is full.
+ */
+public enum AuditOverflowPolicy {
+
+    // Wait up to dog-shelter.audit.block-timeout for room, then drop
+    BLOCK,
+    DROP,
+    // Append to a file in dog-shelter.audit.spill-directory, written once the queue has drained
+    SPILL
+}
@@ -0,0 +1,8 @@
+package dev.jackson.dog_shelter_api.enums;
+
+public enum BatchItemStatus {
+
+    CREATED,
+    INVALID,
+    DUPLICATE
+}
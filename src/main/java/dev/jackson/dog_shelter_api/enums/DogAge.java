@@ -0,0 +1,32 @@
+package dev.jackson.dog_shelter_api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum DogAge {
+
+    PUPPY("puppy"),
+    ADULT("adult"),
+    ELDERLY("elderly");
+
+    private static final DogAge[] VALUES = values();
+
+    private final String description;
+
+    /**
+     * Case-insensitive lookup that doesn't allocate. Returns null for unknown values.
+     */
+    public static DogAge fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (DogAge age : VALUES) {
+            if (age.name().equalsIgnoreCase(value)) {
+                return age;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package dev.jackson.dog_shelter_api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum DogGender {
+
+    MALE("male"),
+    FEMALE("female");
+
+    private static final DogGender[] VALUES = values();
+
+    private final String description;
+
+    /**
+     * Case-insensitive lookup that doesn't allocate. Returns null for unknown values.
+     */
+    public static DogGender fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (DogGender gender : VALUES) {
+            if (gender.name().equalsIgnoreCase(value)) {
+                return gender;
+            }
+        }
+        return null;
+    }
+}
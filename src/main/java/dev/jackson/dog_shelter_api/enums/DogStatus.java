@@ -0,0 +1,33 @@
+package dev.jackson.dog_shelter_api.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum DogStatus {
+
+    AVAILABLE("available"),
+    // Held for an adopter until the reservation expires
+    RESERVED("reserved"),
+    ADOPTED("adopted");
+
+    private static final DogStatus[] VALUES = values();
+
+    private final String description;
+
+    /**
+     * Case-insensitive lookup that doesn't allocate. Returns null for unknown values.
+     */
+    public static DogStatus fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (DogStatus status : VALUES) {
+            if (status.name().equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
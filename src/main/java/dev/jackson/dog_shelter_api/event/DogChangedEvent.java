@@ -0,0 +1,16 @@
+package dev.jackson.dog_shelter_api.event;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+
+/**
+ * Published by {@code DogService} inside the transaction of every mutation.
+ * {@code before} is the record the change replaced, null for registrations, and
+ * {@code after} is null for deletions.
+ */
+public record DogChangedEvent(
+    DogChangeType type,
+    Long id,
+    DogDTO before,
+    DogDTO after
+){}
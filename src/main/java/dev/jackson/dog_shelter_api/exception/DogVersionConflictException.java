@@ -0,0 +1,12 @@
+package dev.jackson.dog_shelter_api.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class DogVersionConflictException extends RuntimeException{
+    private final Issue issue;
+
+    public DogVersionConflictException(String message){
+        super(message);
+        this.issue = new Issue(message, HttpStatus.CONFLICT);
+    }
+}
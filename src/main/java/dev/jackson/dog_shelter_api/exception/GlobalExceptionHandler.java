@@ -1,12 +1,19 @@
 package dev.jackson.dog_shelter_api.exception;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -25,6 +32,37 @@ public class GlobalExceptionHandler {
         return new Issue(e.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(DogVersionConflictException.class)
+    public Issue handleDogVersionConflictException(DogVersionConflictException e){
+        return new Issue(e.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(DogNotAvailableException.class)
+    public Issue handleDogNotAvailableException(DogNotAvailableException e){
+        return new Issue(e.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public Issue handleConcurrencyFailureException(ConcurrencyFailureException e){
+        return new Issue("The dog's record is being changed by someone else, try again.", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyInUseException.class)
+    public ResponseEntity<Issue> handleIdempotencyKeyInUseException(IdempotencyKeyInUseException e){
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new Issue(e.getMessage(), HttpStatus.CONFLICT));
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public Issue handleIdempotencyKeyReusedException(IdempotencyKeyReusedException e){
+        return new Issue(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public Issue handleIllegalArgumentException(MethodArgumentNotValidException e){
@@ -35,6 +73,21 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public Issue handleIllegalArgumentException(WebExchangeBindException e){
+        Map<String, String> errors = new HashMap<>();
+        e.getBindingResult().getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage()));
+        return new Issue("Error in field: " + errors.toString(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(ServerWebInputException.class)
+    public Issue handleIllegalArgumentException(ServerWebInputException e){
+        return new Issue("Invalid request: " + e.getReason(), HttpStatus.BAD_REQUEST);
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public Issue handleIllegalArgumentException(HttpMessageNotReadableException e){
@@ -42,12 +95,39 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public Issue handleIllegalArgumentException(MethodArgumentTypeMismatchException e){
+        return new Issue("Invalid value for parameter: " + e.getName(), HttpStatus.BAD_REQUEST);
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(DataIntegrityViolationException.class)
     public Issue handleIllegalArgumentException(DataIntegrityViolationException e){
         return new Issue("Repeated names are not allowed.", HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Issue> handleCannotCreateTransactionException(CannotCreateTransactionException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new Issue("The service is busy, try again shortly.", HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Issue> handleRateLimitExceededException(RateLimitExceededException e){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(new Issue(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS));
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Issue> handleServiceOverloadedException(ServiceOverloadedException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new Issue(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler(Exception.class)
     public Issue handleException(Exception e) {
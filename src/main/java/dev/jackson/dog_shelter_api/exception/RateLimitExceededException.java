@@ -0,0 +1,18 @@
+package dev.jackson.dog_shelter_api.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class RateLimitExceededException extends RuntimeException{
+    private final Issue issue;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds){
+        super(message);
+        this.issue = new Issue(message, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds(){
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,248 @@
+package dev.jackson.dog_shelter_api.feed;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jackson.dog_shelter_api.dto.DogChangeDTO;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes committed changes to Server-Sent Events subscribers.
+ * <p>
+ * Connections are async requests, so an idle subscriber holds no thread.
+ * Publishing only appends to each subscriber's bounded buffer, and a small
+ * sender pool writes the buffers out, one drain at a time per subscriber. A
+ * subscriber whose buffer is full is evicted. Its client reconnects with
+ * {@code Last-Event-ID} and catches up from the replay buffer, which keeps the
+ * last {@code dog-shelter.changes.replay-size} events. Event ids start with
+ * the start time, like the collection ETag. An id from before a restart, or
+ * one that has left the replay buffer, gets a {@code reset} event telling the
+ * client to reload the list.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class DogChangeFeed {
+
+    static final String RESET_EVENT = "reset";
+
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final ObjectMapper objectMapper;
+    private final int subscriberBufferSize;
+    private final long timeoutMillis;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter evictions;
+    private final Counter replayed;
+    private final Counter resets;
+
+    // Guarded by this: the replay buffer and the subscriber fan-out
+    private final Change[] replayBuffer;
+    private long nextSequence = 1;
+
+    private record Change(long sequence, String name, String data) {}
+
+    public DogChangeFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${dog-shelter.changes.replay-size:1024}") int replaySize,
+                         @Value("${dog-shelter.changes.subscriber-buffer:256}") int subscriberBufferSize,
+                         @Value("${dog-shelter.changes.timeout:30m}") Duration timeout,
+                         @Value("${dog-shelter.changes.heartbeat:30s}") Duration heartbeat,
+                         @Value("${dog-shelter.changes.sender-threads:4}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.replayBuffer = new Change[replaySize];
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.senders = Executors.newFixedThreadPool(senderThreads,
+                Thread.ofPlatform().name("dog-changes-sender-", 0).daemon().factory());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("dog-changes-heartbeat").daemon().factory());
+        this.heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        this.evictions = Counter.builder("dog.changes.evictions").register(meterRegistry);
+        this.replayed = Counter.builder("dog.changes.resumes").tag("outcome", "replayed").register(meterRegistry);
+        this.resets = Counter.builder("dog.changes.resumes").tag("outcome", "reset").register(meterRegistry);
+        Gauge.builder("dog.changes.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDogChanged(DogChangedEvent event) {
+        String data;
+        try {
+            // Serialized once, whatever the number of subscribers
+            data = objectMapper.writeValueAsString(new DogChangeDTO(event.type(), event.id(), event.after()));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize the change of dog {}", event.id(), e);
+            return;
+        }
+        String name = event.type().name().toLowerCase();
+        synchronized (this) {
+            Change change = new Change(nextSequence++, name, data);
+            replayBuffer[(int) (change.sequence() % replayBuffer.length)] = change;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(toEvent(change), false);
+            }
+        }
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        Subscriber subscriber = new Subscriber(newEmitter(timeoutMillis));
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // Called with the lock held, so no change can slip between the replay and the live events
+    private void replay(Subscriber subscriber, String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        long oldestSequence = Math.max(1, nextSequence - replayBuffer.length);
+        if (lastSequence < oldestSequence - 1 || lastSequence >= nextSequence) {
+            resets.increment();
+            subscriber.enqueue(SseEmitter.event().name(RESET_EVENT).data(""), true);
+            return;
+        }
+        for (long sequence = lastSequence + 1; sequence < nextSequence; sequence++) {
+            subscriber.enqueue(toEvent(replayBuffer[(int) (sequence % replayBuffer.length)]), true);
+        }
+        replayed.increment();
+    }
+
+    // -1 for ids of another run or that can't be parsed, which always lead to a reset
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(Change change) {
+        return SseEmitter.event().id(epoch + "-" + change.sequence()).name(change.name()).data(change.data());
+    }
+
+    // Comments are ignored by EventSource, they keep proxies from closing idle streams and reveal dead clients
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().comment("heartbeat"), false);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void close() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // Guarded by this
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean evicted;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Never blocks. Replayed events are always accepted, a live event that
+         * finds the buffer full evicts the subscriber instead.
+         */
+        private void enqueue(SseEmitter.SseEventBuilder event, boolean replay) {
+            synchronized (this) {
+                if (evicted) {
+                    return;
+                }
+                if (!replay && pending.size() >= subscriberBufferSize) {
+                    evicted = true;
+                    pending.clear();
+                    subscribers.remove(this);
+                    evictions.increment();
+                } else {
+                    pending.add(event);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+                synchronized (this) {
+                    if (evicted) {
+                        draining = false;
+                        break;
+                    }
+                    next = pending.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the error callback removes the subscriber
+                    synchronized (this) {
+                        evicted = true;
+                        pending.clear();
+                        draining = false;
+                    }
+                    subscribers.remove(this);
+                    return;
+                }
+            }
+            // Completing on a sender thread, the publisher never waits on a slow connection
+            emitter.complete();
+        }
+    }
+}
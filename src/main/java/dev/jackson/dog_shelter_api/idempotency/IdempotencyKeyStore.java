@@ -0,0 +1,88 @@
+package dev.jackson.dog_shelter_api.idempotency;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import dev.jackson.dog_shelter_api.exception.IdempotencyKeyInUseException;
+import dev.jackson.dog_shelter_api.exception.IdempotencyKeyReusedException;
+import dev.jackson.dog_shelter_api.exception.InvalidDataException;
+
+/**
+ * Remembers the response of each request sent with an {@code Idempotency-Key}
+ * header, so a client retrying after a timeout gets the original response back
+ * instead of a second registration or a duplicate-name error. The store is
+ * bounded and entries expire, a key only has to outlive the client's retries.
+ * Failed requests are forgotten so they can be retried with the same key.
+ */
+@Component
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class IdempotencyKeyStore {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    // response is null while the first request is still running
+    private record Entry(Object request, ResponseEntity<?> response) {}
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyKeyStore(@Value("${dog-shelter.idempotency.maximum-size:10000}") long maximumSize,
+                               @Value("${dog-shelter.idempotency.ttl:24h}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Runs the action once per key. A retry with the same key and request body
+     * gets the stored response, with {@code Idempotent-Replayed: true}.
+     */
+    public <T> ResponseEntity<T> execute(String key, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidDataException(String.format("The %s header must have between 1 and %d characters",
+                    IDEMPOTENCY_KEY, MAX_KEY_LENGTH));
+        }
+        Entry pending = new Entry(request, null);
+        Entry existing = entries.asMap().putIfAbsent(key, pending);
+        if (existing != null) {
+            return replay(key, existing, request);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            entries.asMap().remove(key, pending);
+            throw e;
+        }
+        entries.put(key, new Entry(request, response));
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(String key, Entry existing, Object request) {
+        if (!existing.request().equals(request)) {
+            throw new IdempotencyKeyReusedException(String.format(
+                    "The %s %s was already used with a different request", IDEMPOTENCY_KEY, key));
+        }
+        if (existing.response() == null) {
+            throw new IdempotencyKeyInUseException(String.format(
+                    "A request with the %s %s is still being processed", IDEMPOTENCY_KEY, key));
+        }
+        ResponseEntity<T> response = (ResponseEntity<T>) existing.response();
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(IDEMPOTENT_REPLAYED, "true")
+                .body(response.getBody());
+    }
+}
@@ -0,0 +1,50 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import dev.jackson.dog_shelter_api.cache.DogNearCache;
+
+@Configuration
+@EnableCaching
+public class CacheConfigurations {
+
+    public static final String DOGS_BY_NAME = "dogsByName";
+    public static final String DOG_STATS = "dogStats";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${dog-shelter.cache.dogs-by-name.maximum-size:10000}") long maximumSize,
+                                     @Value("${dog-shelter.cache.dogs-by-name.ttl:60s}") Duration ttl,
+                                     @Value("${dog-shelter.cache.dog-stats.ttl:5s}") Duration statsTtl,
+                                     @Value("${dog-shelter.cache.coherence.tombstone-ttl:10s}") Duration tombstoneTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return DOGS_BY_NAME.equals(name) ? new DogNearCache(name, cache, tombstoneTtl)
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(DOGS_BY_NAME, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        // A single entry, evicted on every change; the TTL only bounds how long a missed eviction can last
+        cacheManager.registerCustomCache(DOG_STATS, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(statsTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
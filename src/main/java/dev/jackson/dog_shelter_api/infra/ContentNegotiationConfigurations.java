@@ -0,0 +1,24 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC already registers the Smile and CBOR converters because
+ * jackson-dataformat-smile and jackson-dataformat-cbor are on the classpath.
+ * Protobuf is added here, at the end of the list, so that JSON stays the
+ * default when the client sends no Accept header or {@code *}{@code /*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class ContentNegotiationConfigurations implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new DogProtobufHttpMessageConverter());
+    }
+}
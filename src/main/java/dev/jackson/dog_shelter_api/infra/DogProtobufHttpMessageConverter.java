@@ -0,0 +1,198 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+
+/**
+ * Reads and writes dogs in the protobuf wire format described by
+ * {@code src/main/proto/dog.proto}. The three messages are small enough to be
+ * encoded by hand, so no generated classes or protoc step are needed. Only
+ * {@link DogDTO}, {@link DogPageDTO} and collections of dogs are supported,
+ * every other response keeps using JSON.
+ */
+public class DogProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    private static final int DOG_ID = 1;
+    private static final int DOG_NAME = 2;
+    private static final int DOG_GENDER = 3;
+    private static final int DOG_AGE = 4;
+    private static final int DOG_SIZE = 5;
+    private static final int DOG_VERSION = 6;
+    private static final int DOG_UPDATED_AT_MILLIS = 7;
+    private static final int DOG_STATUS = 8;
+
+    private static final int PAGE_CONTENT = 1;
+    private static final int PAGE_NEXT_CURSOR = 2;
+
+    private static final int LIST_DOGS = 1;
+
+    private static final DogSize[] SIZES = DogSize.values();
+
+    public DogProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF, MediaType.parseMediaType("application/protobuf"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DogDTO.class == clazz || DogPageDTO.class == clazz || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return DogDTO.class == ResolvableType.forType(type).resolve() && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (DogDTO.class == clazz || DogPageDTO.class == clazz) {
+            return true;
+        }
+        return type != null && Collection.class.isAssignableFrom(clazz)
+                && DogDTO.class == ResolvableType.forType(type).asCollection().resolveGeneric(0);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(DogDTO.class, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return readDog(CodedInputStream.newInstance(inputMessage.getBody()), inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (value instanceof DogDTO dog) {
+            writeDogFields(output, dog);
+        } else if (value instanceof DogPageDTO page) {
+            writeDogs(output, PAGE_CONTENT, page.content());
+            if (page.nextCursor() != null) {
+                output.writeString(PAGE_NEXT_CURSOR, page.nextCursor());
+            }
+        } else {
+            writeDogs(output, LIST_DOGS, (Collection<?>) value);
+        }
+        output.flush();
+    }
+
+    private static void writeDogs(CodedOutputStream output, int fieldNumber, Collection<?> dogs) throws IOException {
+        for (Object dog : dogs) {
+            output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(dogSize((DogDTO) dog));
+            writeDogFields(output, (DogDTO) dog);
+        }
+    }
+
+    private static void writeDogFields(CodedOutputStream output, DogDTO dog) throws IOException {
+        if (dog.id() != null) {
+            output.writeInt64(DOG_ID, dog.id());
+        }
+        if (dog.name() != null) {
+            output.writeString(DOG_NAME, dog.name());
+        }
+        if (dog.gender() != null) {
+            output.writeString(DOG_GENDER, dog.gender());
+        }
+        if (dog.age() != null) {
+            output.writeString(DOG_AGE, dog.age());
+        }
+        if (dog.size() != null) {
+            output.writeEnum(DOG_SIZE, dog.size().ordinal());
+        }
+        if (dog.version() != null) {
+            output.writeInt64(DOG_VERSION, dog.version());
+        }
+        if (dog.updatedAt() != null) {
+            output.writeInt64(DOG_UPDATED_AT_MILLIS, dog.updatedAt().toEpochMilli());
+        }
+        if (dog.status() != null) {
+            output.writeString(DOG_STATUS, dog.status());
+        }
+    }
+
+    private static int dogSize(DogDTO dog) {
+        int size = 0;
+        if (dog.id() != null) {
+            size += CodedOutputStream.computeInt64Size(DOG_ID, dog.id());
+        }
+        if (dog.name() != null) {
+            size += CodedOutputStream.computeStringSize(DOG_NAME, dog.name());
+        }
+        if (dog.gender() != null) {
+            size += CodedOutputStream.computeStringSize(DOG_GENDER, dog.gender());
+        }
+        if (dog.age() != null) {
+            size += CodedOutputStream.computeStringSize(DOG_AGE, dog.age());
+        }
+        if (dog.size() != null) {
+            size += CodedOutputStream.computeEnumSize(DOG_SIZE, dog.size().ordinal());
+        }
+        if (dog.version() != null) {
+            size += CodedOutputStream.computeInt64Size(DOG_VERSION, dog.version());
+        }
+        if (dog.updatedAt() != null) {
+            size += CodedOutputStream.computeInt64Size(DOG_UPDATED_AT_MILLIS, dog.updatedAt().toEpochMilli());
+        }
+        if (dog.status() != null) {
+            size += CodedOutputStream.computeStringSize(DOG_STATUS, dog.status());
+        }
+        return size;
+    }
+
+    private static DogDTO readDog(CodedInputStream input, HttpInputMessage inputMessage) throws IOException {
+        Long id = null;
+        String name = null;
+        String gender = null;
+        String age = null;
+        DogSize size = null;
+        Long version = null;
+        Instant updatedAt = null;
+        String status = null;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case DOG_ID -> id = input.readInt64();
+                case DOG_NAME -> name = input.readString();
+                case DOG_GENDER -> gender = input.readString();
+                case DOG_AGE -> age = input.readString();
+                case DOG_SIZE -> {
+                    int ordinal = input.readEnum();
+                    if (ordinal < 0 || ordinal >= SIZES.length) {
+                        throw new HttpMessageNotReadableException("Unknown dog size " + ordinal, inputMessage);
+                    }
+                    size = SIZES[ordinal];
+                }
+                case DOG_VERSION -> version = input.readInt64();
+                case DOG_UPDATED_AT_MILLIS -> updatedAt = Instant.ofEpochMilli(input.readInt64());
+                case DOG_STATUS -> status = input.readString();
+                default -> input.skipField(tag);
+            }
+        }
+        return new DogDTO(id, name, gender, age, size, version, updatedAt, status);
+    }
+}
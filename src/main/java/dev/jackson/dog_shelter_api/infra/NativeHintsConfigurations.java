@@ -0,0 +1,55 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import dev.jackson.dog_shelter_api.audit.DogAuditRecord;
+import dev.jackson.dog_shelter_api.cache.DogCacheInvalidation;
+import dev.jackson.dog_shelter_api.dto.DogAdoptionDTO;
+import dev.jackson.dog_shelter_api.dto.DogCountDTO;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogNameDTO;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.dto.DogReservationDTO;
+import dev.jackson.dog_shelter_api.entity.Dog;
+import dev.jackson.dog_shelter_api.ratelimit.RateLimiter;
+
+/**
+ * Reflection the AOT engine can't infer, used by the native image. The
+ * MapStruct implementations are loaded by name through
+ * {@code Mappers.getMapper}, and Hibernate instantiates the statement
+ * inspector from its class name and calls the DTO constructors of the JPQL
+ * {@code SELECT new ...} queries reflectively. The per-endpoint rate limits
+ * are bound to a record through the Binder.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfigurations.DogShelterRuntimeHints.class)
+@RegisterReflectionForBinding({DogDTO.class, DogPageDTO.class, DogAuditRecord.class, DogCacheInvalidation.class,
+        RateLimiter.EndpointLimit.class, DogReservationDTO.class, DogAdoptionDTO.class})
+public class NativeHintsConfigurations {
+
+    static class DogShelterRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(Dog.class,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+            for (String mapper : new String[] {
+                    "dev.jackson.dog_shelter_api.mapper.DogMapperImpl",
+                    "dev.jackson.dog_shelter_api.mapper.DogRecordMapperImpl"}) {
+                hints.reflection().registerType(TypeReference.of(mapper), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            hints.reflection().registerType(QueryCountStatementInspector.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            for (Class<?> projection : new Class<?>[] {DogCountDTO.class, DogNameDTO.class}) {
+                hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+        }
+    }
+}
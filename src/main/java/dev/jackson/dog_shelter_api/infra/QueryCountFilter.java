@@ -0,0 +1,50 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request ran, per route, so N+1 patterns
+ * and double lookups show up as a histogram instead of one global counter.
+ */
+@Component
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_NAME = "dog.http.queries";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountStatementInspector.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC_NAME)
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route == null ? "UNKNOWN" : route.toString())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(QueryCountStatementInspector.count());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. It is
+ * registered through {@code hibernate.session_factory.statement_inspector},
+ * so Hibernate creates it and the count lives in static state.
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get()[0] = 0;
+    }
+
+    public static long count() {
+        return STATEMENTS.get()[0];
+    }
+}
@@ -0,0 +1,43 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Enabled with {@code dog-shelter.query-log.enabled=true}, as a cheaper
+ * replacement for {@code spring.jpa.show-sql}: every statement is timed, but
+ * only slow or sampled ones are logged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dog-shelter.query-log.enabled", havingValue = "true")
+public class QueryLogConfigurations {
+
+    @Bean
+    public static BeanPostProcessor samplingQueryLogDataSourceProxy(
+            @Value("${dog-shelter.query-log.slow-threshold:50ms}") Duration slowThreshold,
+            @Value("${dog-shelter.query-log.sample-rate:0.001}") double sampleRate) {
+        SamplingQueryLogListener listener = new SamplingQueryLogListener(slowThreshold, sampleRate);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
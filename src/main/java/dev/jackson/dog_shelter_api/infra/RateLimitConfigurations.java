@@ -0,0 +1,38 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import dev.jackson.dog_shelter_api.ratelimit.LoadShedder;
+import dev.jackson.dog_shelter_api.ratelimit.RateLimitInterceptor;
+import dev.jackson.dog_shelter_api.ratelimit.RateLimiter;
+
+/**
+ * Puts the rate limiter and the load shedder in front of the dog API.
+ * Actuator endpoints are left out, so health checks keep working under load.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class RateLimitConfigurations implements WebMvcConfigurer {
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final Set<String> apiKeys;
+
+    public RateLimitConfigurations(RateLimiter rateLimiter, LoadShedder loadShedder,
+                                   @Value("${dog-shelter.rate-limit.api-keys:}") Set<String> apiKeys) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.apiKeys = apiKeys;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, loadShedder, apiKeys)).addPathPatterns("/api/v1/dogs/**");
+    }
+}
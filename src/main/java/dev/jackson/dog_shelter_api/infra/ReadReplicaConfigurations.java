@@ -0,0 +1,91 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Enabled by listing replica JDBC URLs in
+ * {@code dog-shelter.datasource.replicas.urls}. Replaces the auto-configured
+ * data source with a lazy proxy: the physical connection is only taken at the
+ * first statement, once the transaction has marked it read-only, so
+ * {@code @Transactional(readOnly = true)} methods reach a replica and
+ * everything else the primary. Replicas share the primary's credentials and
+ * {@code spring.datasource.hikari.*} settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "dog-shelter.datasource.replicas.urls")
+public class ReadReplicaConfigurations implements DisposableBean {
+
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                 @Value("${dog-shelter.datasource.replicas.urls}") List<String> replicaUrls,
+                                 @Value("${dog-shelter.datasource.replicas.maximum-pool-size:10}") int replicaPoolSize,
+                                 @Value("${dog-shelter.datasource.replicas.lag-query:}") String lagQuery,
+                                 @Value("${dog-shelter.datasource.replicas.max-lag:5s}") Duration maxLag,
+                                 @Value("${dog-shelter.datasource.replicas.check-interval:5s}") Duration checkInterval) {
+        HikariDataSource primary = hikariDataSource(properties, environment, properties.determineUrl());
+        List<HikariDataSource> replicas = new ArrayList<>(replicaUrls.size());
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = hikariDataSource(properties, environment, replicaUrls.get(i).strip());
+            replica.setPoolName(primary.getPoolName() + "-replica-" + i);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // The auto-configuration only instruments the data source bean, which leads to the primary
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, replicas, lagQuery, maxLag, checkInterval,
+                meterRegistry);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${dog-shelter.datasource.replicas.sticky-window:5s}") Duration stickyWindow) {
+        return new ReadYourWritesFilter(stickyWindow);
+    }
+
+    ReplicaRoutingDataSource replicaRoutingDataSource() {
+        return replicaRoutingDataSource;
+    }
+
+    private static HikariDataSource hikariDataSource(DataSourceProperties properties, Environment environment, String url) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+
+    @Override
+    public void destroy() {
+        if (replicaRoutingDataSource != null) {
+            replicaRoutingDataSource.close();
+        }
+    }
+}
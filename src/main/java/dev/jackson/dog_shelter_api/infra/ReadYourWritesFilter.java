@@ -0,0 +1,85 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps the reads of a client on the primary for a short window after its
+ * own writes, so it never reads a replica that hasn't caught up with them.
+ * The end of the window travels with the client, so the next request may
+ * reach any node: in a cookie for clients that keep cookies, and in the
+ * {@value #HEADER_NAME} response header for the others, which must send it
+ * back on their reads to be covered.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "dog-shelter-recent-write";
+    static final String HEADER_NAME = "Dog-Shelter-Recent-Write";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request);
+        if (write) {
+            // Set before the chain, the response may be committed by the time it returns
+            String until = Long.toString(System.currentTimeMillis() + window.toMillis());
+            response.setHeader(HEADER_NAME, until);
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, until)
+                    .maxAge(window)
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+        if (!write && !hasWrittenRecently(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.stickToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.release();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+    }
+
+    private static boolean hasWrittenRecently(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        return isFuture(cookie == null ? null : cookie.getValue()) || isFuture(request.getHeader(HEADER_NAME));
+    }
+
+    private static boolean isFuture(String until) {
+        if (until == null) {
+            return false;
+        }
+        try {
+            return Long.parseLong(until) > System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out connections of read-only transactions, round-robin over the
+ * healthy replicas. Falls back to the primary when no replica is healthy,
+ * when a replica refuses a connection, or while the current thread is stuck
+ * to the primary after a write of its client, see {@link ReadYourWritesFilter}.
+ * <p>
+ * A replica is ejected when it fails the periodic check or lags behind by
+ * more than {@code dog-shelter.datasource.replicas.max-lag}, and comes back
+ * once a check passes again.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final ThreadLocal<Boolean> STUCK_TO_PRIMARY = new ThreadLocal<>();
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final ScheduledExecutorService checker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter ejections;
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, String lagQuery,
+                                    Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.ejections = Counter.builder("dog.datasource.replica.ejections").register(meterRegistry);
+        Gauge.builder("dog.datasource.replicas.healthy", this.replicas,
+                r -> r.stream().filter(replica -> replica.healthy).count()).register(meterRegistry);
+        this.checker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("dog-replica-check").daemon().factory());
+        this.checker.scheduleWithFixedDelay(this::checkReplicas, checkInterval.toMillis(), checkInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static void stickToPrimary() {
+        STUCK_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void release() {
+        STUCK_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Runs the reads of {@code reads} on the primary, then restores the routing
+     * of the current thread, which may already be stuck to the primary.
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        Boolean previous = STUCK_TO_PRIMARY.get();
+        STUCK_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                STUCK_TO_PRIMARY.remove();
+            } else {
+                STUCK_TO_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    static boolean isStuckToPrimary() {
+        return Boolean.TRUE.equals(STUCK_TO_PRIMARY.get());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = isStuckToPrimary() ? null : nextHealthyReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                eject(replica, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica connections use the credentials of their pool");
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+            if (problem != null) {
+                eject(replica, problem);
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Replica {} is back in rotation", replica.dataSource.getPoolName());
+            }
+        }
+    }
+
+    // Null when the replica is usable, the reason otherwise
+    private String probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return connection.isValid(CHECK_TIMEOUT_SECONDS) ? null : "the connection is not valid";
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                    return lagSeconds * 1000 > maxLag.toMillis() ? String.format("%.1f s behind", lagSeconds) : null;
+                }
+            }
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    private void eject(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            ejections.increment();
+            log.warn("Ejecting replica {}: {}", replica.dataSource.getPoolName(), reason);
+        }
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+        primary.close();
+    }
+}
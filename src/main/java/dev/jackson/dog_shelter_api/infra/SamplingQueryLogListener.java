@@ -0,0 +1,62 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs a statement when it is slower than the threshold, or for a random
+ * sample of the rest. Bind values are never logged, only how many there were,
+ * and the fields are attached as key-value pairs for the structured encoder.
+ */
+@Slf4j
+public class SamplingQueryLogListener implements QueryExecutionListener {
+
+    private final long slowThresholdMillis;
+    private final double sampleRate;
+
+    public SamplingQueryLogListener(Duration slowThreshold, double sampleRate) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        boolean slow = elapsedMillis >= slowThresholdMillis;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            log.atInfo()
+                    .addKeyValue("sql", queryInfo.getQuery())
+                    .addKeyValue("binds", bindCount(queryInfo))
+                    .addKeyValue("durationMs", elapsedMillis)
+                    .addKeyValue("batchSize", execInfo.isBatch() ? execInfo.getBatchSize() : 1)
+                    .addKeyValue("success", execInfo.isSuccess())
+                    .log(slow ? "Slow query" : "Sampled query");
+        }
+    }
+
+    private static int bindCount(QueryInfo queryInfo) {
+        int binds = 0;
+        for (List<ParameterSetOperation> parameters : queryInfo.getParametersList()) {
+            binds += parameters.size();
+        }
+        return binds;
+    }
+}
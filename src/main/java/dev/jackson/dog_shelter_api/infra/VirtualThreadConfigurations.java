@@ -0,0 +1,47 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Only active with {@code spring.threads.virtual.enabled=true}. Tomcat, the
+ * MVC async executor and the application task executor are switched to virtual
+ * threads by Spring Boot itself. This class checks that the JDBC pool can't pin
+ * every carrier thread: H2 and Hibernate may hold monitors while a connection
+ * is in use, so each borrowed connection can pin its carrier.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfigurations {
+
+    @Bean
+    public ApplicationRunner virtualThreadPoolSizingCheck(DataSource dataSource) {
+        return args -> {
+            HikariDataSource hikariDataSource = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+            if (hikariDataSource == null) {
+                return;
+            }
+            int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                    Runtime.getRuntime().availableProcessors());
+            int poolSize = hikariDataSource.getMaximumPoolSize();
+            log.info("Virtual threads enabled: {} carrier threads, JDBC pool of {} connections, {} ms acquire timeout",
+                    carriers, poolSize, hikariDataSource.getConnectionTimeout());
+            if (poolSize >= carriers) {
+                log.warn("The JDBC pool ({}) is not smaller than the number of carrier threads ({}). Requests pinned "
+                        + "inside transactions can starve every carrier; lower spring.datasource.hikari.maximum-pool-size "
+                        + "or raise -Djdk.virtualThreadScheduler.parallelism", poolSize, carriers);
+            }
+        };
+    }
+}
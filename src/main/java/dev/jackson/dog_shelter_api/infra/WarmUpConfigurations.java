@@ -0,0 +1,80 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+import dev.jackson.dog_shelter_api.repository.DogRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enabled with {@code dog-shelter.warm-up.enabled=true}. Application runners
+ * finish before the readiness state accepts traffic, so the first requests
+ * after a deploy find an open connection pool, compiled query plans and a warm
+ * H2 page cache instead of paying for them.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "dog-shelter.warm-up.enabled", havingValue = "true")
+public class WarmUpConfigurations {
+
+    @Bean
+    public ApplicationRunner startupWarmUp(DataSource dataSource, DogRepository dogRepository) {
+        return args -> {
+            long start = System.nanoTime();
+            int connections = primeConnectionPool(dataSource);
+
+            // Every filter combination renders its own statement over its own index: run the unfiltered page
+            // and each single filter, the ones kiosks poll, so those indexes are read into the page cache
+            dogRepository.findPageAfter(0, null, null, null, null, Limit.of(1));
+            dogRepository.findPageAfter(0, DogSize.ME, null, null, null, Limit.of(1));
+            dogRepository.findPageAfter(0, null, DogAge.ADULT, null, null, Limit.of(1));
+            dogRepository.findPageAfter(0, null, null, DogGender.MALE, null, Limit.of(1));
+            dogRepository.findPageAfter(0, null, null, null, DogStatus.AVAILABLE, Limit.of(1));
+            // JPQL is parsed on first use and kept in Hibernate's query plan cache
+            dogRepository.findByName("");
+            dogRepository.findExistingNames(Set.of(""));
+            dogRepository.existsById(0L);
+            long dogs = dogRepository.count();
+
+            log.info("Warm-up finished in {} ms: {} pooled connections, {} dogs",
+                    (System.nanoTime() - start) / 1_000_000, connections, dogs);
+        };
+    }
+
+    // Holds the connections at the same time so the pool has to open all of them now
+    private static int primeConnectionPool(DataSource dataSource) throws SQLException {
+        HikariDataSource hikariDataSource = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        int target = hikariDataSource != null ? Math.max(1, hikariDataSource.getMinimumIdle()) : 1;
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+        return connections.size();
+    }
+}
@@ -1,15 +1,61 @@
 package dev.jackson.dog_shelter_api.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import dev.jackson.dog_shelter_api.dto.DogDTO;
 import dev.jackson.dog_shelter_api.entity.Dog;
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+import dev.jackson.dog_shelter_api.exception.InvalidDataException;
 import org.mapstruct.factory.Mappers;
 
 @Mapper(componentModel = "spring")
 public interface DogMapper {
     DogMapper INSTANCE = Mappers.getMapper(DogMapper.class);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "reservedUntil", ignore = true)
+    @Mapping(target = "reservationToken", ignore = true)
     Dog toModel(DogDTO dogDTO);
     DogDTO toDTO(Dog dog);
+
+    default DogAge toDogAge(String age) {
+        DogAge dogAge = DogAge.fromValue(age);
+        if (age != null && dogAge == null) {
+            throw new InvalidDataException("Incorrect age option. It must be: puppy, adult or elderly");
+        }
+        return dogAge;
+    }
+
+    default DogGender toDogGender(String gender) {
+        DogGender dogGender = DogGender.fromValue(gender);
+        if (gender != null && dogGender == null) {
+            throw new InvalidDataException("Incorrect gender option. It must be: male or female");
+        }
+        return dogGender;
+    }
+
+    default DogStatus toDogStatus(String status) {
+        DogStatus dogStatus = DogStatus.fromValue(status);
+        if (status != null && dogStatus == null) {
+            throw new InvalidDataException("Incorrect status option. It must be: available, reserved or adopted");
+        }
+        return dogStatus;
+    }
+
+    default String fromDogAge(DogAge age) {
+        return age == null ? null : age.name();
+    }
+
+    default String fromDogGender(DogGender gender) {
+        return gender == null ? null : gender.name();
+    }
+
+    default String fromDogStatus(DogStatus status) {
+        return status == null ? null : status.name();
+    }
 }
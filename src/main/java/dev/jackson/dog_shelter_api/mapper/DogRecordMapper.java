@@ -0,0 +1,59 @@
+package dev.jackson.dog_shelter_api.mapper;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.entity.DogRecord;
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+
+@Mapper
+public interface DogRecordMapper {
+    DogRecordMapper INSTANCE = Mappers.getMapper(DogRecordMapper.class);
+
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    DogRecord toRecord(DogDTO dogDTO);
+    DogDTO toDTO(DogRecord dogRecord);
+
+    // Same conversions, and the same errors for unknown values, as the JPA mapper
+    default DogAge toDogAge(String age) {
+        return DogMapper.INSTANCE.toDogAge(age);
+    }
+
+    default DogGender toDogGender(String gender) {
+        return DogMapper.INSTANCE.toDogGender(gender);
+    }
+
+    default DogStatus toDogStatus(String status) {
+        return DogMapper.INSTANCE.toDogStatus(status);
+    }
+
+    default String fromDogAge(DogAge age) {
+        return DogMapper.INSTANCE.fromDogAge(age);
+    }
+
+    default String fromDogGender(DogGender gender) {
+        return DogMapper.INSTANCE.fromDogGender(gender);
+    }
+
+    default String fromDogStatus(DogStatus status) {
+        return DogMapper.INSTANCE.fromDogStatus(status);
+    }
+
+    default Instant toInstant(OffsetDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant();
+    }
+
+    default OffsetDateTime toOffsetDateTime(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+}
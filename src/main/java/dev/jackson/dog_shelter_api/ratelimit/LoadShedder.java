@@ -0,0 +1,85 @@
+package dev.jackson.dog_shelter_api.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sheds requests while the connection pool is saturated, before they queue
+ * for a connection. Every sample interval, the mean time to acquire a
+ * connection over the interval is read from Hikari's
+ * {@code hikaricp.connections.acquire} timer. Past the threshold a growing
+ * share of requests is shed, all of them at twice the threshold. Shed
+ * requests don't acquire connections, so the share falls back by itself once
+ * the pool recovers.
+ */
+@Component
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class LoadShedder {
+
+    private final MeterRegistry meterRegistry;
+    private final String poolName;
+    private final double thresholdMillis;
+    private final ScheduledExecutorService sampler;
+
+    // Only touched by the sampler thread
+    private long lastCount;
+    private double lastTotalMillis;
+
+    private volatile double acquireMillis;
+    private volatile double shedRatio;
+
+    public LoadShedder(MeterRegistry meterRegistry,
+                       @Value("${spring.datasource.hikari.pool-name:dog-shelter-pool}") String poolName,
+                       @Value("${dog-shelter.load-shedding.acquire-threshold:100ms}") Duration threshold,
+                       @Value("${dog-shelter.load-shedding.sample-interval:1s}") Duration sampleInterval) {
+        this.meterRegistry = meterRegistry;
+        this.poolName = poolName;
+        this.thresholdMillis = threshold.toMillis();
+        this.sampler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("dog-load-shedding").daemon().factory());
+        this.sampler.scheduleAtFixedRate(this::sample, sampleInterval.toMillis(), sampleInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        Gauge.builder("dog.loadshedding.acquire", () -> acquireMillis).baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("dog.loadshedding.ratio", () -> shedRatio).register(meterRegistry);
+    }
+
+    public boolean shouldShed() {
+        double ratio = shedRatio;
+        return ratio > 0 && ThreadLocalRandom.current().nextDouble() < ratio;
+    }
+
+    void sample() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        if (acquire == null) {
+            return;
+        }
+        long count = acquire.count();
+        double totalMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+        long acquired = count - lastCount;
+        acquireMillis = acquired == 0 ? 0 : (totalMillis - lastTotalMillis) / acquired;
+        shedRatio = Math.clamp(acquireMillis / thresholdMillis - 1, 0.0, 1.0);
+        lastCount = count;
+        lastTotalMillis = totalMillis;
+    }
+
+    double shedRatio() {
+        return shedRatio;
+    }
+
+    @PreDestroy
+    void close() {
+        sampler.shutdownNow();
+    }
+}
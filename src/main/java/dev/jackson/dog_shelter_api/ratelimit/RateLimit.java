@@ -0,0 +1,24 @@
+package dev.jackson.dog_shelter_api.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the limit of a controller method, configured under
+ * {@code dog-shelter.rate-limit.endpoints.<value>}. Methods without it share
+ * the {@value RateLimiter#DEFAULT_ENDPOINT} limit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    String value();
+
+    /**
+     * Whether the endpoint's requests are shed while the connection pool is
+     * saturated. Off for endpoints that don't use the database.
+     */
+    boolean shed() default true;
+}
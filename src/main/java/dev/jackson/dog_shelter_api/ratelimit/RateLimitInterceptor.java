@@ -0,0 +1,65 @@
+package dev.jackson.dog_shelter_api.ratelimit;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import dev.jackson.dog_shelter_api.exception.RateLimitExceededException;
+import dev.jackson.dog_shelter_api.exception.ServiceOverloadedException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Runs before the controller: sheds the request while the database is
+ * saturated, then takes a token from the client's bucket for the endpoint.
+ * Clients are told apart by {@value #API_KEY_HEADER} when it holds one of the
+ * configured keys, by address otherwise. An unknown key is ignored, so a
+ * client can't get a fresh bucket by sending a new one.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final Set<String> apiKeys;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, LoadShedder loadShedder, Set<String> apiKeys) {
+        this.rateLimiter = rateLimiter;
+        this.loadShedder = loadShedder;
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async dispatch completing a stream was admitted with the request that started it
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        RateLimit rateLimit = handlerMethod.getMethodAnnotation(RateLimit.class);
+        String endpoint = rateLimit == null ? RateLimiter.DEFAULT_ENDPOINT : rateLimit.value();
+        if ((rateLimit == null || rateLimit.shed()) && loadShedder.shouldShed()) {
+            rateLimiter.recordShed(endpoint);
+            throw new ServiceOverloadedException("The service is busy, try again shortly.");
+        }
+        long waitNanos = rateLimiter.tryAcquire(endpoint, clientOf(request));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new RateLimitExceededException(
+                    String.format("Too many requests, try again in %d seconds.", retryAfterSeconds), retryAfterSeconds);
+        }
+        return true;
+    }
+
+    // Behind a proxy the address is the client's once server.forward-headers-strategy is set
+    private String clientOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,101 @@
+package dev.jackson.dog_shelter_api.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * One {@link TokenBucket} per client and endpoint. The buckets live in a
+ * bounded cache and are dropped once idle: a bucket left alone refills, so
+ * recreating it full changes nothing. Every decision is counted as
+ * {@value #REQUESTS_METER}, tagged by endpoint and outcome. Disabled with
+ * {@code dog-shelter.rate-limit.enabled=false}, for load tests driven from a
+ * single client; load shedding still applies.
+ */
+@Component
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class RateLimiter {
+
+    public static final String DEFAULT_ENDPOINT = "default";
+    static final String REQUESTS_METER = "dog.ratelimit.requests";
+
+    private final boolean enabled;
+    private final Map<String, EndpointLimit> limits;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Bursts of up to {@code capacity} requests, refilled at
+     * {@code perSecond} requests per second.
+     */
+    public record EndpointLimit(long capacity, double perSecond) {}
+
+    @Autowired
+    public RateLimiter(Environment environment, MeterRegistry meterRegistry,
+                       @Value("${dog-shelter.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${dog-shelter.rate-limit.maximum-clients:100000}") long maximumClients,
+                       @Value("${dog-shelter.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this(enabled, Binder.get(environment)
+                .bind("dog-shelter.rate-limit.endpoints", Bindable.mapOf(String.class, EndpointLimit.class))
+                .orElse(Map.of()), meterRegistry, maximumClients, idleTimeout);
+    }
+
+    RateLimiter(boolean enabled, Map<String, EndpointLimit> limits, MeterRegistry meterRegistry, long maximumClients,
+                Duration idleTimeout) {
+        if (!limits.containsKey(DEFAULT_ENDPOINT)) {
+            throw new IllegalStateException("dog-shelter.rate-limit.endpoints." + DEFAULT_ENDPOINT + " must be configured");
+        }
+        this.enabled = enabled;
+        this.limits = Map.copyOf(limits);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("dog.ratelimit.buckets", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * Returns 0 when the request may proceed, otherwise how long the client
+     * should wait, in nanoseconds.
+     */
+    public long tryAcquire(String endpoint, String client) {
+        if (!enabled) {
+            return 0;
+        }
+        EndpointLimit limit = limits.getOrDefault(endpoint, limits.get(DEFAULT_ENDPOINT));
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(endpoint + ' ' + client,
+                key -> new TokenBucket(limit.capacity(), limit.perSecond(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        count(endpoint, waitNanos == 0 ? "allowed" : "limited");
+        return waitNanos;
+    }
+
+    public void recordShed(String endpoint) {
+        count(endpoint, "shed");
+    }
+
+    private void count(String endpoint, String outcome) {
+        counters.computeIfAbsent(endpoint + ' ' + outcome, key -> Counter.builder(REQUESTS_METER)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,40 @@
+package dev.jackson.dog_shelter_api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single timestamp, the instant it will be full
+ * again: each token taken moves it one refill interval forward, and a token
+ * can be taken as long as that stays within {@code capacity} intervals from
+ * now. Acquiring is one compare-and-set, without locks or allocation.
+ */
+final class TokenBucket {
+
+    private final long refillIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(long capacity, double tokensPerSecond, long nowNanos) {
+        this.refillIntervalNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.capacityNanos = capacity * refillIntervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token. Returns 0 when one was available, otherwise how long to
+     * wait for the next one, in nanoseconds.
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + refillIntervalNanos;
+            long excess = next - nowNanos - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
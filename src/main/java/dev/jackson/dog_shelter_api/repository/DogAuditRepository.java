@@ -0,0 +1,15 @@
+package dev.jackson.dog_shelter_api.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import dev.jackson.dog_shelter_api.entity.DogAuditEntry;
+
+@Repository
+public interface DogAuditRepository extends JpaRepository<DogAuditEntry, Long> {
+
+    // Spilled entries can be written after newer ones, so the id alone doesn't give the order
+    List<DogAuditEntry> findByDogIdOrderByChangedAtAscIdAsc(Long dogId);
+}
@@ -1,14 +1,176 @@
 package dev.jackson.dog_shelter_api.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Predicate;
+
+import dev.jackson.dog_shelter_api.dto.DogCountDTO;
+import dev.jackson.dog_shelter_api.dto.DogNameDTO;
 import dev.jackson.dog_shelter_api.entity.Dog;
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 
 @Repository
-public interface DogRepository extends JpaRepository<Dog, Long>{
+public interface DogRepository extends JpaRepository<Dog, Long>, JpaSpecificationExecutor<Dog> {
+    int EXPORT_FETCH_SIZE = 500;
+
     Optional<Dog> findByName(String name);
 
+    @Query("""
+            SELECT new dev.jackson.dog_shelter_api.dto.DogCountDTO(d.size, d.age, d.gender, COUNT(d))
+            FROM Dog d
+            GROUP BY d.size, d.age, d.gender
+            """)
+    List<DogCountDTO> countByCategory();
+
+    @Query("SELECT d.name FROM Dog d WHERE d.name IN :names")
+    Set<String> findExistingNames(@Param("names") Collection<String> names);
+
+    /**
+     * Only the given filters become predicates, so every combination is a
+     * statement of its own and the database can pick the (column, id) index
+     * that matches it, instead of sharing one plan full of {@code IS NULL}
+     * guards.
+     */
+    default List<Dog> findPageAfter(long afterId, DogSize size, DogAge age, DogGender gender, DogStatus status,
+                                    Limit limit) {
+        Specification<Dog> filter = (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>(5);
+            predicates.add(builder.greaterThan(root.get("id"), afterId));
+            if (size != null) {
+                predicates.add(builder.equal(root.get("size"), size));
+            }
+            if (age != null) {
+                predicates.add(builder.equal(root.get("age"), age));
+            }
+            if (gender != null) {
+                predicates.add(builder.equal(root.get("gender"), gender));
+            }
+            if (status != null) {
+                predicates.add(builder.equal(root.get("status"), status));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+        return findBy(filter, page -> page.sortBy(Sort.by("id")).limit(limit.max()).all());
+    }
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Dog d ORDER BY d.id")
+    Stream<Dog> streamAllOrderedById();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT new dev.jackson.dog_shelter_api.dto.DogNameDTO(d.id, d.name) FROM Dog d")
+    Stream<DogNameDTO> streamAllNames();
+
+    /**
+     * Updates a record in a single statement and returns the row as it was
+     * before, which holds the columns an edit doesn't set. When
+     * {@code expectedVersion} is given, the row is only updated if it still has
+     * that version. Enum columns are bound by name, as in any native query.
+     *
+     * @return the record before the update, empty when the id or the version didn't match
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM OLD TABLE (
+                UPDATE dog
+                SET name = :name, gender = :gender, age = :age, size = :size,
+                    version = version + 1, updated_at = :updatedAt
+                WHERE id = :id
+                  AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)
+            )
+            """)
+    Optional<Dog> updateRecord(@Param("id") Long id,
+                               @Param("name") String name,
+                               @Param("gender") String gender,
+                               @Param("age") String age,
+                               @Param("size") String size,
+                               @Param("expectedVersion") Long expectedVersion,
+                               @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Deletes a record in a single statement and returns it as it was.
+     *
+     * @return the deleted record, empty when there was none with the id
+     */
+    @Query(nativeQuery = true, value = "SELECT * FROM OLD TABLE (DELETE FROM dog WHERE id = :id)")
+    Optional<Dog> deleteRecordById(@Param("id") Long id);
+
+    /**
+     * Reserves the dog if it is still at {@code expectedVersion}, which the
+     * caller read as available or with an expired hold. Concurrent reservers
+     * race on this single row, the first to commit wins and the others match
+     * no row.
+     *
+     * @return 1 when the dog was reserved, 0 when it changed in the meantime
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Dog d
+            SET d.status = dev.jackson.dog_shelter_api.enums.DogStatus.RESERVED,
+                d.reservationToken = :reservationToken, d.reservedUntil = :reservedUntil,
+                d.version = d.version + 1, d.updatedAt = :updatedAt
+            WHERE d.id = :id
+              AND d.version = :expectedVersion
+            """)
+    int reserve(@Param("id") Long id,
+                @Param("expectedVersion") long expectedVersion,
+                @Param("reservationToken") String reservationToken,
+                @Param("reservedUntil") Instant reservedUntil,
+                @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Moves the dog out of a reservation, to {@code status}, if it is still at
+     * {@code expectedVersion}. Any other change to the record, including a new
+     * reservation, bumps the version, so the hold the caller checked is the one
+     * that ends.
+     *
+     * @return 1 when the dog was updated, 0 when it changed in the meantime
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Dog d
+            SET d.status = :status, d.reservationToken = NULL, d.reservedUntil = NULL,
+                d.version = d.version + 1, d.updatedAt = :updatedAt
+            WHERE d.id = :id
+              AND d.version = :expectedVersion
+              AND d.status = dev.jackson.dog_shelter_api.enums.DogStatus.RESERVED
+            """)
+    int endReservation(@Param("id") Long id,
+                       @Param("expectedVersion") long expectedVersion,
+                       @Param("status") DogStatus status,
+                       @Param("updatedAt") Instant updatedAt);
+
+    @Query("""
+            SELECT d FROM Dog d
+            WHERE d.status = dev.jackson.dog_shelter_api.enums.DogStatus.RESERVED
+              AND d.reservedUntil <= :now
+            ORDER BY d.reservedUntil
+            """)
+    List<Dog> findExpiredReservations(@Param("now") Instant now, Limit limit);
+
 } 
@@ -0,0 +1,54 @@
+package dev.jackson.dog_shelter_api.repository;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import dev.jackson.dog_shelter_api.dto.DogCountDTO;
+import dev.jackson.dog_shelter_api.entity.DogRecord;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * R2DBC counterpart of {@link DogRepository}. Enum columns are bound by name,
+ * and optional parameters are cast so H2 can type a null value.
+ */
+@Repository
+public interface ReactiveDogRepository extends R2dbcRepository<DogRecord, Long>, ReactiveDogRepositoryCustom {
+
+    Mono<DogRecord> findByName(String name);
+
+    @Query("SELECT NEXT VALUE FOR dog_seq")
+    Mono<Long> nextId();
+
+    @Query("SELECT size, age, gender, COUNT(*) AS count FROM dog GROUP BY size, age, gender")
+    Flux<DogCountDTO> countByCategory();
+
+    /**
+     * See {@link DogRepository#updateRecord}, emits the record as it was
+     * before the update and nothing when the id or the version didn't match.
+     */
+    @Query("""
+            SELECT * FROM OLD TABLE (
+                UPDATE dog
+                SET name = :name, gender = :gender, age = :age, size = :size,
+                    version = version + 1, updated_at = :updatedAt
+                WHERE id = :id
+                  AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)
+            )
+            """)
+    Mono<DogRecord> updateRecord(@Param("id") Long id,
+                                 @Param("name") String name,
+                                 @Param("gender") String gender,
+                                 @Param("age") String age,
+                                 @Param("size") String size,
+                                 @Param("expectedVersion") Long expectedVersion,
+                                 @Param("updatedAt") OffsetDateTime updatedAt);
+
+    // See DogRepository#deleteRecordById
+    @Query("SELECT * FROM OLD TABLE (DELETE FROM dog WHERE id = :id)")
+    Mono<DogRecord> deleteRecordById(@Param("id") Long id);
+}
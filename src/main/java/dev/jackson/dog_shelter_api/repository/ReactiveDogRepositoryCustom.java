@@ -0,0 +1,16 @@
+package dev.jackson.dog_shelter_api.repository;
+
+import dev.jackson.dog_shelter_api.entity.DogRecord;
+import reactor.core.publisher.Flux;
+
+/**
+ * Filtered reads of {@link ReactiveDogRepository}, built from the filters that
+ * are given, see {@link DogRepository#findPageAfter}. Enum filters are bound
+ * by name.
+ */
+public interface ReactiveDogRepositoryCustom {
+
+    Flux<DogRecord> findPageAfter(long afterId, String size, String age, String gender, String status, int limit);
+
+    Flux<DogRecord> findAllMatching(String size, String age, String gender, String status);
+}
@@ -0,0 +1,66 @@
+package dev.jackson.dog_shelter_api.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import dev.jackson.dog_shelter_api.entity.DogRecord;
+import reactor.core.publisher.Flux;
+
+class ReactiveDogRepositoryCustomImpl implements ReactiveDogRepositoryCustom {
+
+    private final R2dbcEntityTemplate template;
+
+    ReactiveDogRepositoryCustomImpl(R2dbcEntityTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public Flux<DogRecord> findPageAfter(long afterId, String size, String age, String gender, String status, int limit) {
+        Map<String, Object> parameters = filterParameters(size, age, gender, status);
+        StringBuilder sql = new StringBuilder("SELECT * FROM dog WHERE id > :afterId");
+        parameters.keySet().forEach(column -> sql.append(" AND ").append(column).append(" = :").append(column));
+        sql.append(" ORDER BY id LIMIT :limit");
+        parameters.put("afterId", afterId);
+        parameters.put("limit", limit);
+        return query(sql.toString(), parameters);
+    }
+
+    @Override
+    public Flux<DogRecord> findAllMatching(String size, String age, String gender, String status) {
+        Map<String, Object> parameters = filterParameters(size, age, gender, status);
+        StringBuilder sql = new StringBuilder("SELECT * FROM dog");
+        String keyword = " WHERE ";
+        for (String column : parameters.keySet()) {
+            sql.append(keyword).append(column).append(" = :").append(column);
+            keyword = " AND ";
+        }
+        sql.append(" ORDER BY id");
+        return query(sql.toString(), parameters);
+    }
+
+    // Column names double as parameter names, only the given filters are kept
+    private static Map<String, Object> filterParameters(String size, String age, String gender, String status) {
+        Map<String, Object> parameters = new LinkedHashMap<>(6);
+        if (size != null) {
+            parameters.put("size", size);
+        }
+        if (age != null) {
+            parameters.put("age", age);
+        }
+        if (gender != null) {
+            parameters.put("gender", gender);
+        }
+        if (status != null) {
+            parameters.put("status", status);
+        }
+        return parameters;
+    }
+
+    private Flux<DogRecord> query(String sql, Map<String, Object> parameters) {
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(sql).bindValues(parameters);
+        return spec.map((row, metadata) -> template.getConverter().read(DogRecord.class, row, metadata)).all();
+    }
+}
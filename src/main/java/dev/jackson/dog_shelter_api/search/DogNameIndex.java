@@ -0,0 +1,267 @@
+package dev.jackson.dog_shelter_api.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogNameDTO;
+import dev.jackson.dog_shelter_api.dto.DogNameMatchDTO;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import dev.jackson.dog_shelter_api.repository.DogRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps every upper-cased dog name in a trie for type-ahead search. It is loaded
+ * once the application is ready and then follows committed changes, keeping the
+ * name indexed for each id so renames and deletes don't need the old record.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class DogNameIndex {
+
+    // See DogNameIndexBenchmark for the cost of the fuzzy walk at 1M names
+    static final int MAX_DISTANCE = 1;
+
+    private final DogRepository dogRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Long, String> namesById = new HashMap<>();
+
+    public DogNameIndex(DogRepository dogRepository) {
+        this.dogRepository = dogRepository;
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try (Stream<DogNameDTO> names = dogRepository.streamAllNames()) {
+            names.forEach(dogName -> put(dogName.id(), dogName.name()));
+        }
+        log.info("Indexed {} dog names for search", size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDogChanged(DogChangedEvent event) {
+        switch (event.type()) {
+            case REGISTERED, UPDATED -> {
+                DogDTO after = event.after();
+                if (after != null && after.name() != null) {
+                    put(event.id(), after.name());
+                }
+            }
+            case DELETED -> remove(event.id());
+        }
+    }
+
+    public void put(Long id, String name) {
+        String upperCaseName = name.toUpperCase();
+        lock.writeLock().lock();
+        try {
+            String previousName = namesById.put(id, upperCaseName);
+            if (previousName != null && !previousName.equals(upperCaseName)) {
+                removeName(root, previousName, 0);
+            }
+            Node node = root;
+            for (int i = 0; i < upperCaseName.length(); i++) {
+                node = node.childOrCreate(upperCaseName.charAt(i));
+            }
+            node.id = id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            String name = namesById.remove(id);
+            if (name != null) {
+                removeName(root, name, 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return namesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds up to {@code limit} names starting with the query. Once the query has
+     * three characters, names one typo away after the first letter are added
+     * after the exact prefix matches. Both groups are sorted alphabetically, and
+     * the fuzzy walk is skipped when the prefix alone fills the limit.
+     */
+    public List<DogNameMatchDTO> search(String query, int limit) {
+        String upperCaseQuery = query.toUpperCase();
+        int maxDistance = maxDistance(upperCaseQuery.length());
+        Map<String, DogNameMatchDTO> matches = new LinkedHashMap<>();
+
+        lock.readLock().lock();
+        try {
+            Node prefixNode = root;
+            for (int i = 0; i < upperCaseQuery.length() && prefixNode != null; i++) {
+                prefixNode = prefixNode.child(upperCaseQuery.charAt(i));
+            }
+            if (prefixNode != null) {
+                collectNames(prefixNode, new StringBuilder(upperCaseQuery), 0, matches, limit);
+            }
+
+            // Like most type-ahead fuzzy matching, the first letter is taken as typed
+            Node firstLetterNode = upperCaseQuery.isEmpty() ? null : root.child(upperCaseQuery.charAt(0));
+            String rest = upperCaseQuery.substring(Math.min(1, upperCaseQuery.length()));
+            for (int distance = 1; distance <= maxDistance && firstLetterNode != null && matches.size() < limit; distance++) {
+                collectFuzzyMatches(firstLetterNode, rest, firstRows(rest.length(), distance), 0,
+                        new StringBuilder().append(upperCaseQuery.charAt(0)), distance, matches, limit);
+            }
+            return new ArrayList<>(matches.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One row per trie level a path within the distance of the query can reach
+    private static int[][] firstRows(int queryLength, int distance) {
+        int[][] rows = new int[queryLength + distance + 2][queryLength + 1];
+        for (int i = 0; i <= queryLength; i++) {
+            rows[0][i] = i;
+        }
+        return rows;
+    }
+
+    static int maxDistance(int queryLength) {
+        return queryLength <= 2 ? 0 : MAX_DISTANCE;
+    }
+
+    /*
+     * Walks the trie computing one Levenshtein row per edge. A node whose path is
+     * exactly `distance` edits away from the whole query has its subtree added,
+     * closer nodes were handled by the previous pass. Branches stop once no cell
+     * of the row is within reach, and the pre-order walk over sorted keys keeps
+     * the matches alphabetical so the walk can stop at the limit.
+     */
+    private static void collectFuzzyMatches(Node node, String query, int[][] rows, int depth, StringBuilder path,
+                                            int distance, Map<String, DogNameMatchDTO> matches, int limit) {
+        int[] previousRow = rows[depth];
+        int[] row = rows[depth + 1];
+        int lastColumn = query.length();
+        for (int c = 0; c < node.size && matches.size() < limit; c++) {
+            char key = node.keys[c];
+            row[0] = previousRow[0] + 1;
+            int rowMin = row[0];
+            for (int i = 1; i <= lastColumn; i++) {
+                int replaceCost = previousRow[i - 1] + (query.charAt(i - 1) == key ? 0 : 1);
+                row[i] = Math.min(replaceCost, Math.min(row[i - 1], previousRow[i]) + 1);
+                rowMin = Math.min(rowMin, row[i]);
+            }
+            if (rowMin > distance) {
+                continue;
+            }
+
+            path.append(key);
+            if (row[lastColumn] == distance) {
+                collectNames(node.children[c], path, distance, matches, limit);
+            } else if (row[lastColumn] > distance && depth + 2 < rows.length) {
+                collectFuzzyMatches(node.children[c], query, rows, depth + 1, path, distance, matches, limit);
+            }
+            path.setLength(path.length() - 1);
+        }
+    }
+
+    private static void collectNames(Node node, StringBuilder path, int distance,
+                                     Map<String, DogNameMatchDTO> matches, int limit) {
+        if (node.id != null) {
+            String name = path.toString();
+            matches.putIfAbsent(name, new DogNameMatchDTO(node.id, name, distance));
+        }
+        for (int c = 0; c < node.size && matches.size() < limit; c++) {
+            path.append(node.keys[c]);
+            collectNames(node.children[c], path, distance, matches, limit);
+            path.setLength(path.length() - 1);
+        }
+    }
+
+    // Returns whether the node no longer holds a name or children and can be unlinked
+    private static boolean removeName(Node node, String name, int depth) {
+        if (depth == name.length()) {
+            node.id = null;
+        } else {
+            char key = name.charAt(depth);
+            Node child = node.child(key);
+            if (child != null && removeName(child, name, depth + 1)) {
+                node.removeChild(key);
+            }
+        }
+        return node.id == null && node.size == 0;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // Sorted, so names are visited in alphabetical order
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int size;
+        private Long id;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index < 0 ? null : children[index];
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            if (size == keys.length) {
+                // Most nodes have a single child, so small arrays grow one slot at a time
+                int capacity = size < 4 ? size + 1 : size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(children, index, children, index + 1, size - index);
+            Node child = new Node();
+            keys[index] = key;
+            children[index] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(children, index + 1, children, index, size - index - 1);
+            children[--size] = null;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package dev.jackson.dog_shelter_api.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogReservationDTO;
+import dev.jackson.dog_shelter_api.entity.Dog;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import dev.jackson.dog_shelter_api.exception.DogNotAvailableException;
+import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.mapper.DogMapper;
+import dev.jackson.dog_shelter_api.repository.DogRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reservations and adoptions without locks: the dog is read, checked, and
+ * changed with a single UPDATE that only matches the version that was read.
+ * When many adopters reserve the same dog at once, one UPDATE wins and the
+ * others match no row, while later attempts fail on the read alone, without
+ * writing. Every change bumps the version, so it is published like an update.
+ * <p>
+ * When the database refuses a racing update instead of matching no row, the
+ * {@link ConcurrencyFailureException} is left to roll the transaction back:
+ * once a statement has failed, the transaction can't commit anyway.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class DogAdoptionService {
+
+    private final DogRepository dogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DogServiceMetrics dogServiceMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdTtl;
+    private final DogMapper dogMapper = DogMapper.INSTANCE;
+
+    public DogAdoptionService(DogRepository dogRepository, ApplicationEventPublisher eventPublisher,
+                              DogServiceMetrics dogServiceMetrics, TransactionTemplate transactionTemplate,
+                              @Value("${dog-shelter.adoption.hold-ttl:15m}") Duration holdTtl) {
+        this.dogRepository = dogRepository;
+        this.eventPublisher = eventPublisher;
+        this.dogServiceMetrics = dogServiceMetrics;
+        this.transactionTemplate = transactionTemplate;
+        this.holdTtl = holdTtl;
+    }
+
+    /**
+     * Holds the dog for {@code dog-shelter.adoption.hold-ttl}. A hold that has
+     * expired counts as available even before the sweeper releases it.
+     */
+    @Transactional
+    public DogReservationDTO reserve(Long id) {
+        return dogServiceMetrics.record("reserve", () -> {
+            Dog dog = findDog(id);
+            Instant now = Instant.now();
+            if (dog.getStatus() == DogStatus.ADOPTED) {
+                throw new DogNotAvailableException("The dog has already been adopted.");
+            }
+            if (dog.getStatus() == DogStatus.RESERVED && dog.getReservedUntil().isAfter(now)) {
+                throw new DogNotAvailableException("The dog is reserved until " + dog.getReservedUntil() + ".");
+            }
+            String reservationToken = UUID.randomUUID().toString();
+            Instant reservedUntil = now.plus(holdTtl);
+            if (dogRepository.reserve(id, dog.getVersion(), reservationToken, reservedUntil, now) == 0) {
+                throw new DogNotAvailableException("The dog was reserved by someone else.");
+            }
+            // Detached by the update, so changing it doesn't write anything
+            DogDTO before = dogMapper.toDTO(dog);
+            dog.setStatus(DogStatus.RESERVED);
+            dog.setReservedUntil(reservedUntil);
+            publishUpdate(before, dog, now);
+            log.debug("Reserved dog: id={}", id);
+            return new DogReservationDTO(id, reservationToken, reservedUntil);
+        });
+    }
+
+    /**
+     * Completes the adoption of a dog reserved with {@code reservationToken},
+     * as long as the hold hasn't expired.
+     */
+    @Transactional
+    public void adopt(Long id, String reservationToken) {
+        dogServiceMetrics.run("adopt", () -> {
+            Dog dog = findDog(id);
+            Instant now = Instant.now();
+            if (dog.getStatus() == DogStatus.ADOPTED) {
+                throw new DogNotAvailableException("The dog has already been adopted.");
+            }
+            if (dog.getStatus() != DogStatus.RESERVED || !dog.getReservationToken().equals(reservationToken)
+                    || !dog.getReservedUntil().isAfter(now)) {
+                throw new DogNotAvailableException("The reservation has expired or belongs to someone else.");
+            }
+            if (dogRepository.endReservation(id, dog.getVersion(), DogStatus.ADOPTED, now) == 0) {
+                throw new DogNotAvailableException("The reservation has expired or belongs to someone else.");
+            }
+            DogDTO before = dogMapper.toDTO(dog);
+            dog.setStatus(DogStatus.ADOPTED);
+            publishUpdate(before, dog, now);
+            log.debug("Adopted dog: id={}", id);
+        });
+    }
+
+    /**
+     * Makes up to {@code limit} dogs with an expired hold available again, each
+     * in its own transaction, so a release the database refuses doesn't roll
+     * back the others. A dog that changed since it was read, reserved again or
+     * released by another node, is left alone. Must not be called within a
+     * transaction.
+     *
+     * @return the number of holds released, {@code limit} when there may be more;
+     *         fewer when a release lost its race, so a sweep can't spin on one it keeps losing
+     */
+    public int releaseExpiredReservations(int limit) {
+        return dogServiceMetrics.record("releaseExpiredReservations", () -> {
+            Instant now = Instant.now();
+            List<Dog> expired = dogRepository.findExpiredReservations(now, Limit.of(limit));
+            int released = 0;
+            for (Dog dog : expired) {
+                if (release(dog, now)) {
+                    released++;
+                }
+            }
+            if (released > 0) {
+                log.info("Released {} expired reservations", released);
+            }
+            return released;
+        });
+    }
+
+    private Dog findDog(Long id) {
+        return dogRepository.findById(id).orElseThrow(() -> new DogNotFoundException("The dog's record was not found."));
+    }
+
+    private boolean release(Dog dog, Instant now) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (dogRepository.endReservation(dog.getId(), dog.getVersion(), DogStatus.AVAILABLE, now) == 0) {
+                    return false;
+                }
+                DogDTO before = dogMapper.toDTO(dog);
+                dog.setStatus(DogStatus.AVAILABLE);
+                publishUpdate(before, dog, now);
+                return true;
+            }));
+        } catch (ConcurrencyFailureException e) {
+            // A concurrent writer of the row, the sweep loses the race as if no row had matched
+            return false;
+        }
+    }
+
+    private void publishUpdate(DogDTO before, Dog dog, Instant updatedAt) {
+        dog.setVersion(dog.getVersion() + 1);
+        dog.setUpdatedAt(updatedAt);
+        eventPublisher.publishEvent(new DogChangedEvent(DogChangeType.UPDATED, dog.getId(), before, dogMapper.toDTO(dog)));
+    }
+}
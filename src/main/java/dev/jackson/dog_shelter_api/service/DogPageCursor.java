@@ -0,0 +1,35 @@
+package dev.jackson.dog_shelter_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import dev.jackson.dog_shelter_api.exception.InvalidDataException;
+
+/**
+ * Opaque keyset cursor for the dog listing. It only carries the last id
+ * returned, but clients must treat it as an opaque token.
+ */
+final class DogPageCursor {
+
+    private static final long FIRST_PAGE = 0L;
+
+    private DogPageCursor() {
+    }
+
+    static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            byte[] raw = Base64.getUrlDecoder().decode(cursor);
+            return Long.parseLong(new String(raw, StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Invalid cursor: " + cursor);
+        }
+    }
+}
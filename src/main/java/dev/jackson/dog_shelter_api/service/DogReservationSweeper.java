@@ -0,0 +1,56 @@
+package dev.jackson.dog_shelter_api.service;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Releases expired reservations every {@code dog-shelter.adoption.sweep-interval},
+ * {@code sweep-batch-size} dogs at a time until none is left. Every node
+ * may run it: the conditional updates make sure each hold is released once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
+public class DogReservationSweeper {
+
+    private final DogAdoptionService dogAdoptionService;
+    private final int batchSize;
+    private final ScheduledExecutorService sweeper;
+
+    public DogReservationSweeper(DogAdoptionService dogAdoptionService,
+                                 @Value("${dog-shelter.adoption.sweep-interval:30s}") Duration sweepInterval,
+                                 @Value("${dog-shelter.adoption.sweep-batch-size:500}") int batchSize) {
+        this.dogAdoptionService = dogAdoptionService;
+        this.batchSize = batchSize;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("dog-reservation-sweeper").daemon().factory());
+        this.sweeper.scheduleWithFixedDelay(this::sweep, sweepInterval.toMillis(), sweepInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    void sweep() {
+        try {
+            while (!Thread.currentThread().isInterrupted()
+                    && dogAdoptionService.releaseExpiredReservations(batchSize) == batchSize) {
+                // A full batch released, there may be more; a lost race ends the sweep until the next run
+            }
+        } catch (RuntimeException e) {
+            // The releases already committed stay, the rest are retried on the next run
+            log.warn("Releasing expired reservations failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        sweeper.shutdownNow();
+    }
+}
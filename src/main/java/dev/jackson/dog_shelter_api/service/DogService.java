@@ -1,115 +1,406 @@
 package dev.jackson.dog_shelter_api.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.exception.DogVersionConflictException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import dev.jackson.dog_shelter_api.dto.DogBatchResultDTO;
 import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.dto.DogHistoryEntryDTO;
+import dev.jackson.dog_shelter_api.dto.DogNameMatchDTO;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.dto.DogStatsDTO;
 import dev.jackson.dog_shelter_api.entity.Dog;
+import dev.jackson.dog_shelter_api.entity.DogAuditEntry;
+import dev.jackson.dog_shelter_api.enums.BatchItemStatus;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
 import dev.jackson.dog_shelter_api.exception.InvalidDataException;
+import dev.jackson.dog_shelter_api.infra.CacheConfigurations;
 import dev.jackson.dog_shelter_api.mapper.DogMapper;
+import dev.jackson.dog_shelter_api.repository.DogAuditRepository;
 import dev.jackson.dog_shelter_api.repository.DogRepository;
-import jakarta.transaction.Transactional;
+import dev.jackson.dog_shelter_api.search.DogNameIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "servlet", matchIfMissing = true)
 public class DogService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final int DEFAULT_SEARCH_LIMIT = 10;
+    public static final int MAX_SEARCH_LIMIT = 50;
+    // Keep in sync with hibernate.jdbc.batch_size and the dog_seq allocation size
+    static final int INSERT_BATCH_SIZE = 50;
+    private static final int NAME_LOOKUP_CHUNK_SIZE = 1_000;
+    static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
     private final DogRepository dogRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DogServiceMetrics dogServiceMetrics;
+    private final DogNameIndex dogNameIndex;
+    private final DogAuditRepository dogAuditRepository;
     private final DogMapper dogMapper = DogMapper.INSTANCE;
 
-    public DogService(DogRepository dogRepository){
+    public DogService(DogRepository dogRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                      Validator validator, ApplicationEventPublisher eventPublisher,
+                      DogServiceMetrics dogServiceMetrics, DogNameIndex dogNameIndex,
+                      DogAuditRepository dogAuditRepository){
         this.dogRepository = dogRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.dogServiceMetrics = dogServiceMetrics;
+        this.dogNameIndex = dogNameIndex;
+        this.dogAuditRepository = dogAuditRepository;
     }
 
+    /**
+     * Relies on the unique constraint on the name instead of looking it up
+     * first: a new dog costs a single INSERT, and two concurrent registrations
+     * of the same name can't both pass a check.
+     */
     @Transactional
     public DogDTO registerDog(DogDTO dogDTO){
-        verifyIfIsAlreadyRegistered(dogDTO);
-        verifyDogAge(dogDTO.age());
-        verifyDogGender(dogDTO.gender());
-
-        Dog dog = dogMapper.toModel(dogDTO);
-        dog = setDataToUpperCase(dog);
-        Dog registredDog = dogRepository.save(dog);
-        log.info("Registered dog: {}", registredDog.getName());
+        return dogServiceMetrics.record("registerDog", () -> {
+            Dog dog = dogMapper.toModel(dogDTO);
+            dog = setDataToUpperCase(dog);
+            dog.setId(null);
+            dog.setStatus(DogStatus.AVAILABLE);
+            Dog registredDog;
+            try {
+                // Flushing here keeps the INSERT inside the timed operation instead of at commit
+                registredDog = dogRepository.saveAndFlush(dog);
+            } catch (DataIntegrityViolationException e) {
+                if(isUniqueViolation(e)){
+                    throw new InvalidDataException(String.format("%s has already been registered", dog.getName()));
+                }
+                throw e;
+            }
+            log.debug("Registered dog: {}", registredDog.getName());
 
-        return dogMapper.toDTO(registredDog);
+            DogDTO registeredDogDTO = dogMapper.toDTO(registredDog);
+            eventPublisher.publishEvent(new DogChangedEvent(DogChangeType.REGISTERED, registeredDogDTO.id(), null, registeredDogDTO));
+            return registeredDogDTO;
+        });
     }
 
+    /**
+     * Registers many dogs in one transaction. The whole batch is validated
+     * first, then already registered names are found with set-based queries.
+     * The remaining dogs are inserted through JDBC batching. Every item gets a
+     * result at the same index as in the request.
+     */
     @Transactional
-    public List<DogDTO> listAll(){
-        return dogRepository.findAll().stream().map(dogMapper::toDTO).collect(Collectors.toList());
+    public List<DogBatchResultDTO> registerDogs(List<DogDTO> dogDTOs){
+        return dogServiceMetrics.record("registerDogs", () -> registerValidatedBatch(dogDTOs));
     }
 
-    @Transactional
+    private List<DogBatchResultDTO> registerValidatedBatch(List<DogDTO> dogDTOs){
+        if(dogDTOs.isEmpty() || dogDTOs.size() > MAX_BATCH_SIZE){
+            throw new InvalidDataException(String.format("A batch must contain between 1 and %d dogs", MAX_BATCH_SIZE));
+        }
+        DogBatchResultDTO[] results = new DogBatchResultDTO[dogDTOs.size()];
+
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for(int index = 0; index < dogDTOs.size(); index++){
+            DogDTO dogDTO = dogDTOs.get(index);
+            String violation = findViolation(dogDTO);
+            if(violation != null){
+                results[index] = DogBatchResultDTO.rejected(index, dogDTO.name(), BatchItemStatus.INVALID, violation);
+                continue;
+            }
+            String name = dogDTO.name().toUpperCase();
+            if(candidates.putIfAbsent(name, index) != null){
+                results[index] = DogBatchResultDTO.rejected(index, name, BatchItemStatus.DUPLICATE,
+                        String.format("%s is repeated in the batch", name));
+            }
+        }
+
+        Set<String> registeredNames = findRegisteredNames(candidates.keySet());
+        List<Dog> pendingDogs = new ArrayList<>(INSERT_BATCH_SIZE);
+        List<Integer> pendingIndexes = new ArrayList<>(INSERT_BATCH_SIZE);
+        for(Map.Entry<String, Integer> candidate : candidates.entrySet()){
+            int index = candidate.getValue();
+            if(registeredNames.contains(candidate.getKey())){
+                results[index] = DogBatchResultDTO.rejected(index, candidate.getKey(), BatchItemStatus.DUPLICATE,
+                        String.format("%s has already been registered", candidate.getKey()));
+                continue;
+            }
+            Dog dog = setDataToUpperCase(dogMapper.toModel(dogDTOs.get(index)));
+            dog.setId(null);
+            dog.setStatus(DogStatus.AVAILABLE);
+            pendingDogs.add(dog);
+            pendingIndexes.add(index);
+            if(pendingDogs.size() == INSERT_BATCH_SIZE){
+                insertBatch(pendingDogs, pendingIndexes, results);
+            }
+        }
+        insertBatch(pendingDogs, pendingIndexes, results);
+
+        return List.of(results);
+    }
+
+    @Transactional(readOnly = true)
+    public DogPageDTO listAll(DogFilter filter, String cursor, int limit){
+        return dogServiceMetrics.record("listAll", () -> findPage(filter, cursor, limit));
+    }
+
+    private DogPageDTO findPage(DogFilter filter, String cursor, int limit){
+        if(limit < 1 || limit > MAX_PAGE_SIZE){
+            throw new InvalidDataException(String.format("The page limit must be between 1 and %d", MAX_PAGE_SIZE));
+        }
+        long afterId = DogPageCursor.decode(cursor);
+
+        List<Dog> dogs = dogRepository.findPageAfter(afterId, filter.size(), dogMapper.toDogAge(filter.age()),
+                dogMapper.toDogGender(filter.gender()), dogMapper.toDogStatus(filter.status()), Limit.of(limit + 1));
+
+        boolean hasNextPage = dogs.size() > limit;
+        List<Dog> page = hasNextPage ? dogs.subList(0, limit) : dogs;
+        String nextCursor = hasNextPage ? DogPageCursor.encode(page.getLast().getId()) : null;
+
+        return new DogPageDTO(page.stream().map(dogMapper::toDTO).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Writes every dog as newline-delimited JSON. Rows are read through a
+     * forward-only cursor and detached right after being written, so the heap
+     * used does not depend on the size of the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (Stream<Dog> dogs = dogRepository.streamAllOrderedById()) {
+            Iterator<Dog> iterator = dogs.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Dog dog = iterator.next();
+                generator.writeObject(dogMapper.toDTO(dog));
+                generator.writeRaw('\n');
+                entityManager.detach(dog);
+
+                if (++written % DogRepository.EXPORT_FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        generator.flush();
+    }
+
+    /**
+     * Not timed here: the cache answers most calls without entering this
+     * method, so the caller times it, see {@code DogController#findByName}.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfigurations.DOGS_BY_NAME, key = "#name.toUpperCase()")
     public DogDTO findByName(String name) {
         Dog foundBeer = dogRepository.findByName(name.toUpperCase())
                 .orElseThrow(() -> new DogNotFoundException("Dog named " + name + " was not found in the system"));
         return dogMapper.toDTO(foundBeer);
     }
 
+    /**
+     * Counts come from a single GROUP BY over the (size, age, gender)
+     * combinations, cached until the next committed change.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfigurations.DOG_STATS, key = "'all'")
+    public DogStatsDTO stats() {
+        return dogServiceMetrics.record("stats", () -> DogStatsDTO.from(dogRepository.countByCategory()));
+    }
+
+    /**
+     * Served from the in-memory name index, it never reaches the database.
+     */
+    public List<DogNameMatchDTO> searchByName(String query, int limit) {
+        return dogServiceMetrics.record("searchByName", () -> {
+            if(query == null || query.isBlank()){
+                throw new InvalidDataException("The search query must not be blank");
+            }
+            if(limit < 1 || limit > MAX_SEARCH_LIMIT){
+                throw new InvalidDataException(String.format("The search limit must be between 1 and %d", MAX_SEARCH_LIMIT));
+            }
+            return dogNameIndex.search(query.strip(), limit);
+        });
+    }
+
+    /**
+     * Changes are audited asynchronously, so the last few milliseconds of
+     * changes may be missing. Each entry carries the states recorded with it,
+     * entries written before updates and deletes recorded theirs have no
+     * previous state.
+     */
+    @Transactional(readOnly = true)
+    public List<DogHistoryEntryDTO> findHistory(Long id) {
+        return dogServiceMetrics.record("findHistory", () -> {
+            List<DogAuditEntry> entries = dogAuditRepository.findByDogIdOrderByChangedAtAscIdAsc(id);
+            if(entries.isEmpty()){
+                throw new DogNotFoundException("No history was found for the dog's record.");
+            }
+            List<DogHistoryEntryDTO> history = new ArrayList<>(entries.size());
+            for(DogAuditEntry entry : entries){
+                history.add(new DogHistoryEntryDTO(entry.getChangeType(), entry.getChangedAt(),
+                        fromJson(entry.getBeforeState()), fromJson(entry.getAfterState())));
+            }
+            return history;
+        });
+    }
+
     @Transactional
     public void deleteById(Long id) {
-        checkIfDogHasRecord(id);
-        log.info("Deleting Dog's record: id={}", id);
-        dogRepository.deleteById(id);
+        dogServiceMetrics.run("deleteById", () -> {
+            log.debug("Deleting Dog's record: id={}", id);
+            Dog deleted = dogRepository.deleteRecordById(id)
+                    .orElseThrow(() -> new DogNotFoundException("The dog's record was not found."));
+            eventPublisher.publishEvent(new DogChangedEvent(DogChangeType.DELETED, id, dogMapper.toDTO(deleted), null));
+        });
     }
 
+    /**
+     * Updates the record with a single UPDATE statement. When the DTO carries a
+     * version, the update only applies if the stored record still has it. The
+     * statement returns the row it replaced, the event's previous state. The
+     * new version and the status follow from it without reading the record
+     * back, so the caches can keep the record instead of blocking it for any
+     * version.
+     */
     @Transactional
     public void updateDogsRecord(Long id, DogDTO dogDTO) {
-        if(id.equals(checkIfDogHasRecord(id).getId())) {
-            verifyDogAge(dogDTO.age());
-            verifyDogGender(dogDTO.gender());
-
+        dogServiceMetrics.run("updateDogsRecord", () -> {
             Dog dog = dogMapper.toModel(dogDTO);
             dog = setDataToUpperCase(dog);
 
+            Instant updatedAt = Instant.now();
+            Dog replaced = dogRepository.updateRecord(id, dog.getName(), dog.getGender().name(), dog.getAge().name(),
+                            dog.getSize().name(), dogDTO.version(), updatedAt)
+                    .orElseThrow(() -> updateFailure(id, dogDTO.version()));
             dog.setId(id);
-            dogRepository.save(dog);
-            log.info("Updating Dog's record: id={}", id);
-        }
+            dog.setVersion(replaced.getVersion() + 1);
+            dog.setStatus(replaced.getStatus());
+            dog.setUpdatedAt(updatedAt);
+            log.debug("Updating Dog's record: id={}", id);
+            eventPublisher.publishEvent(new DogChangedEvent(DogChangeType.UPDATED, id, dogMapper.toDTO(replaced),
+                    dogMapper.toDTO(dog)));
+        });
     }
 
-    private void verifyIfIsAlreadyRegistered(DogDTO dogDTO){
-        String dogName = dogDTO.name();
-        Optional<Dog> optDog = dogRepository.findByName(dogName);
-        if(optDog.isPresent()){
-            String message = String.format("%s has already been registered", optDog.get().getName());
-            throw new InvalidDataException(message);
+    // Only reached when the update matched no row, so the happy path stays at one statement
+    private RuntimeException updateFailure(Long id, Long expectedVersion){
+        if(expectedVersion != null && dogRepository.existsById(id)){
+            return new DogVersionConflictException(String.format(
+                    "The dog's record was modified by someone else, it is no longer at version %d.", expectedVersion));
         }
+        return new DogNotFoundException("The dog's record was not found.");
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e){
+        return NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sqlException
+                && UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState());
     }
 
+    // The same constraints @Valid checks on a single registration, batch items aren't validated by the controller
+    private String findViolation(DogDTO dogDTO){
+        Set<ConstraintViolation<DogDTO>> violations = validator.validate(dogDTO);
+        if(violations.isEmpty()){
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 
+    private Set<String> findRegisteredNames(Set<String> names){
+        Set<String> registeredNames = new HashSet<>();
+        List<String> chunk = new ArrayList<>(NAME_LOOKUP_CHUNK_SIZE);
+        for(String name : names){
+            chunk.add(name);
+            if(chunk.size() == NAME_LOOKUP_CHUNK_SIZE){
+                registeredNames.addAll(dogRepository.findExistingNames(chunk));
+                chunk.clear();
+            }
+        }
+        if(!chunk.isEmpty()){
+            registeredNames.addAll(dogRepository.findExistingNames(chunk));
+        }
+        return registeredNames;
+    }
 
-    private void verifyDogAge(String dogAge) {
-        List<String> allowedAges = List.of("puppy", "adult", "elderly");
-        boolean isAAllowedAgeOption = allowedAges.stream().anyMatch(item -> item.equals(dogAge.toLowerCase()));
-        if(!isAAllowedAgeOption){
-            throw new InvalidDataException("Incorrect age option. It must be: puppy, adult or elderly");
+    private void insertBatch(List<Dog> dogs, List<Integer> indexes, DogBatchResultDTO[] results){
+        if(dogs.isEmpty()){
+            return;
         }
+        dogRepository.saveAll(dogs);
+        entityManager.flush();
+        for(int i = 0; i < dogs.size(); i++){
+            Dog dog = dogs.get(i);
+            results[indexes.get(i)] = DogBatchResultDTO.created(indexes.get(i), dog.getName(), dog.getId());
+            eventPublisher.publishEvent(new DogChangedEvent(DogChangeType.REGISTERED, dog.getId(), null, dogMapper.toDTO(dog)));
+        }
+        entityManager.clear();
+        log.debug("Registered a batch of {} dogs", dogs.size());
+        dogs.clear();
+        indexes.clear();
     }
 
-    private void verifyDogGender(String dogGender) {
-        List<String> allowedGenders = List.of("male", "female");
-        boolean isAAllowedGenderOption = allowedGenders.stream().anyMatch(item -> item.equals(dogGender.toLowerCase()));
-        if(!isAAllowedGenderOption){
-            throw new InvalidDataException("Incorrect gender option. It must be: male or female");
+    private DogDTO fromJson(String json){
+        if(json == null){
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, DogDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable audit entry: " + json, e);
         }
     }
 
     public Dog setDataToUpperCase(Dog dog) {
         dog.setName(dog.getName().toUpperCase());
-        dog.setGender(dog.getGender().toUpperCase());
-        dog.setAge(dog.getAge().toUpperCase());
 
         return dog;
     }
 
+    @Transactional(readOnly = true)
     public Dog checkIfDogHasRecord(Long id){
-            return dogRepository.findById(id).orElseThrow(() -> new DogNotFoundException("The dog's record was not found."));
+        return dogServiceMetrics.record("checkIfDogHasRecord", () ->
+                dogRepository.findById(id).orElseThrow(() -> new DogNotFoundException("The dog's record was not found.")));
     }
 }
@@ -0,0 +1,62 @@
+package dev.jackson.dog_shelter_api.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import dev.jackson.dog_shelter_api.exception.DogNotAvailableException;
+import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.exception.DogVersionConflictException;
+import dev.jackson.dog_shelter_api.exception.InvalidDataException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times {@link DogService} and {@link DogAdoptionService} operations as {@value #TIMER_NAME}, tagged by
+ * operation and by outcome (success, not-found, invalid, conflict or error). Percentile
+ * histograms are published so latency quantiles can be aggregated across instances.
+ */
+@Component
+public class DogServiceMetrics {
+
+    public static final String TIMER_NAME = "dog.service.operation";
+
+    private final MeterRegistry meterRegistry;
+
+    public DogServiceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T record(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } catch (DogNotFoundException e) {
+            outcome = "not-found";
+            throw e;
+        } catch (InvalidDataException | DataIntegrityViolationException e) {
+            outcome = "invalid";
+            throw e;
+        } catch (DogVersionConflictException | DogNotAvailableException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public void run(String operation, Runnable action) {
+        record(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
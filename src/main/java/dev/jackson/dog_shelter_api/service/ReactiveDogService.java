@@ -0,0 +1,192 @@
+package dev.jackson.dog_shelter_api.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalEventPublisher;
+
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.dto.DogStatsDTO;
+import dev.jackson.dog_shelter_api.entity.DogRecord;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.exception.DogVersionConflictException;
+import dev.jackson.dog_shelter_api.exception.InvalidDataException;
+import dev.jackson.dog_shelter_api.mapper.DogRecordMapper;
+import dev.jackson.dog_shelter_api.repository.ReactiveDogRepository;
+import io.r2dbc.spi.R2dbcException;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@link DogService} rules on the WebFlux stack: the same checks, errors and
+ * change events, with every database call a non-blocking R2DBC statement.
+ * Validation that throws while mapping is deferred so it surfaces as an error
+ * signal rather than escaping the caller. Events are published with the
+ * reactive transaction attached, so the {@code @TransactionalEventListener}s
+ * run once it commits, and not at all on rollback.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "dog-shelter.stack", havingValue = "reactive")
+public class ReactiveDogService {
+
+    private final ReactiveDogRepository dogRepository;
+    private final TransactionalEventPublisher eventPublisher;
+    private final DogRecordMapper dogRecordMapper = DogRecordMapper.INSTANCE;
+
+    public ReactiveDogService(ReactiveDogRepository dogRepository, ApplicationEventPublisher eventPublisher){
+        this.dogRepository = dogRepository;
+        this.eventPublisher = new TransactionalEventPublisher(eventPublisher);
+    }
+
+    @Transactional
+    public Mono<DogDTO> registerDog(DogDTO dogDTO) {
+        return Mono.fromCallable(() -> toUpperCaseRecord(dogDTO))
+                .flatMap(dog -> dogRepository.nextId()
+                        .flatMap(id -> {
+                            dog.setId(id);
+                            dog.setStatus(DogStatus.AVAILABLE);
+                            dog.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
+                            return dogRepository.save(dog);
+                        })
+                        .onErrorMap(DataIntegrityViolationException.class, e -> isUniqueViolation(e)
+                                ? new InvalidDataException(String.format("%s has already been registered", dog.getName()))
+                                : e))
+                .map(dogRecordMapper::toDTO)
+                .flatMap(registeredDog -> {
+                    log.debug("Registered dog: {}", registeredDog.name());
+                    return eventPublisher.publishEvent(
+                            new DogChangedEvent(DogChangeType.REGISTERED, registeredDog.id(), null, registeredDog))
+                            .thenReturn(registeredDog);
+                });
+    }
+
+    @Transactional
+    public Mono<DogPageDTO> listAll(DogFilter filter, String cursor, int limit){
+        return Mono.defer(() -> {
+            if(limit < 1 || limit > DogService.MAX_PAGE_SIZE){
+                return Mono.error(new InvalidDataException(
+                        String.format("The page limit must be between 1 and %d", DogService.MAX_PAGE_SIZE)));
+            }
+            long afterId = DogPageCursor.decode(cursor);
+            return dogRepository.findPageAfter(afterId, sizeName(filter), ageName(filter), genderName(filter),
+                            statusName(filter), limit + 1)
+                    .collectList()
+                    .map(dogs -> toPage(dogs, limit));
+        });
+    }
+
+    /**
+     * Every dog matching the filter, read with R2DBC demand so a slow client
+     * slows the query down instead of buffering the table.
+     */
+    public Flux<DogDTO> streamAll(DogFilter filter){
+        return Flux.defer(() -> dogRepository.findAllMatching(sizeName(filter), ageName(filter), genderName(filter),
+                        statusName(filter)))
+                .map(dogRecordMapper::toDTO);
+    }
+
+    public Mono<DogStatsDTO> stats() {
+        return dogRepository.countByCategory().collectList().map(DogStatsDTO::from);
+    }
+
+    public Mono<DogDTO> findByName(String name) {
+        return dogRepository.findByName(name.toUpperCase())
+                .switchIfEmpty(Mono.error(() -> new DogNotFoundException("Dog named " + name + " was not found in the system")))
+                .map(dogRecordMapper::toDTO);
+    }
+
+    @Transactional
+    public Mono<Void> deleteById(Long id) {
+        return dogRepository.deleteRecordById(id)
+                .switchIfEmpty(Mono.error(() -> new DogNotFoundException("The dog's record was not found.")))
+                .flatMap(deleted -> {
+                    log.debug("Deleted Dog's record: id={}", id);
+                    return eventPublisher.publishEvent(
+                            new DogChangedEvent(DogChangeType.DELETED, id, dogRecordMapper.toDTO(deleted), null));
+                });
+    }
+
+    @Transactional
+    public Mono<Void> updateDogsRecord(Long id, DogDTO dogDTO) {
+        return Mono.fromCallable(() -> toUpperCaseRecord(dogDTO))
+                .flatMap(dog -> {
+                    OffsetDateTime updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+                    return dogRepository.updateRecord(id, dog.getName(), dog.getGender().name(), dog.getAge().name(),
+                                    dog.getSize().name(), dogDTO.version(), updatedAt)
+                            .switchIfEmpty(Mono.defer(() -> updateFailure(id, dogDTO.version())))
+                            // The row the update replaced, see DogService.updateDogsRecord
+                            .flatMap(replaced -> {
+                                dog.setId(id);
+                                dog.setVersion(replaced.getVersion() + 1);
+                                dog.setStatus(replaced.getStatus());
+                                dog.setUpdatedAt(updatedAt);
+                                log.debug("Updated Dog's record: id={}", id);
+                                return eventPublisher.publishEvent(
+                                        new DogChangedEvent(DogChangeType.UPDATED, id, dogRecordMapper.toDTO(replaced),
+                                                dogRecordMapper.toDTO(dog)));
+                            });
+                });
+    }
+
+    private <T> Mono<T> updateFailure(Long id, Long expectedVersion){
+        if(expectedVersion == null){
+            return Mono.error(new DogNotFoundException("The dog's record was not found."));
+        }
+        return dogRepository.existsById(id)
+                .flatMap(exists -> Mono.<T>error(exists
+                        ? new DogVersionConflictException(String.format(
+                                "The dog's record was modified by someone else, it is no longer at version %d.", expectedVersion))
+                        : new DogNotFoundException("The dog's record was not found.")));
+    }
+
+    // The controller has validated the DTO, the mapper only fails for callers that skipped it
+    private DogRecord toUpperCaseRecord(DogDTO dogDTO){
+        DogRecord dog = dogRecordMapper.toRecord(dogDTO);
+        dog.setId(null);
+        dog.setName(dog.getName().toUpperCase());
+        return dog;
+    }
+
+    private DogPageDTO toPage(List<DogRecord> dogs, int limit){
+        boolean hasNextPage = dogs.size() > limit;
+        List<DogRecord> page = hasNextPage ? dogs.subList(0, limit) : dogs;
+        String nextCursor = hasNextPage ? DogPageCursor.encode(page.getLast().getId()) : null;
+        return new DogPageDTO(page.stream().map(dogRecordMapper::toDTO).collect(Collectors.toList()), nextCursor);
+    }
+
+    private String sizeName(DogFilter filter){
+        return filter.size() == null ? null : filter.size().name();
+    }
+
+    private String ageName(DogFilter filter){
+        return dogRecordMapper.fromDogAge(dogRecordMapper.toDogAge(filter.age()));
+    }
+
+    private String genderName(DogFilter filter){
+        return dogRecordMapper.fromDogGender(dogRecordMapper.toDogGender(filter.gender()));
+    }
+
+    private String statusName(DogFilter filter){
+        return dogRecordMapper.fromDogStatus(dogRecordMapper.toDogStatus(filter.status()));
+    }
+
+    private static boolean isUniqueViolation(DataIntegrityViolationException e){
+        return NestedExceptionUtils.getMostSpecificCause(e) instanceof R2dbcException r2dbcException
+                && DogService.UNIQUE_VIOLATION_SQL_STATE.equals(r2dbcException.getSqlState());
+    }
+}
@@ -0,0 +1,29 @@
+package dev.jackson.dog_shelter_api.validation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+/**
+ * The annotated string must match one of the constants of {@link #enumClass()},
+ * ignoring case. Null values are valid; combine with {@code @NotNull} when required.
+ */
+@Documented
+@Constraint(validatedBy = EnumValueValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EnumValue {
+
+    Class<? extends Enum<?>> enumClass();
+
+    String message() default "must be one of the allowed values";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
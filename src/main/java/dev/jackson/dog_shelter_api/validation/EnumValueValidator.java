@@ -0,0 +1,28 @@
+package dev.jackson.dog_shelter_api.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class EnumValueValidator implements ConstraintValidator<EnumValue, String> {
+
+    private Enum<?>[] constants;
+
+    @Override
+    public void initialize(EnumValue constraintAnnotation) {
+        // getEnumConstants() returns a fresh copy on every call, so it is read once here
+        this.constants = constraintAnnotation.enumClass().getEnumConstants();
+    }
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        for (Enum<?> constant : constants) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+CREATE SEQUENCE dog_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE dog (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    gender     VARCHAR(255) NOT NULL CHECK (gender IN ('MALE', 'FEMALE')),
+    age        VARCHAR(255) NOT NULL CHECK (age IN ('PUPPY', 'ADULT', 'ELDERLY')),
+    size       VARCHAR(255) NOT NULL CHECK (size IN ('SM', 'ME', 'LA', 'GI')),
+    version    BIGINT       DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_dog_name UNIQUE (name)
+);
+
+-- Keyset pages filter on one column and walk the id, so each filter gets (column, id)
+CREATE INDEX idx_dog_size_id ON dog (size, id);
+CREATE INDEX idx_dog_age_id ON dog (age, id);
+CREATE INDEX idx_dog_gender_id ON dog (gender, id);
@@ -0,0 +1,13 @@
+CREATE SEQUENCE dog_audit_seq START WITH 1 INCREMENT BY 50;
+
+-- Append-only, written in batches by DogAuditWriter
+CREATE TABLE dog_audit (
+    id           BIGINT        NOT NULL PRIMARY KEY,
+    dog_id       BIGINT        NOT NULL,
+    change_type  VARCHAR(255)  NOT NULL CHECK (change_type IN ('REGISTERED', 'UPDATED', 'DELETED')),
+    before_state VARCHAR(1000),
+    after_state  VARCHAR(1000),
+    changed_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_dog_audit_dog_id ON dog_audit (dog_id, changed_at);
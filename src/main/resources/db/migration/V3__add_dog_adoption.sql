@@ -0,0 +1,9 @@
+-- Existing dogs become available; reservations are taken and released with conditional single-row updates
+ALTER TABLE dog ADD COLUMN status VARCHAR(255) DEFAULT 'AVAILABLE' NOT NULL;
+ALTER TABLE dog ADD CONSTRAINT ck_dog_status CHECK (status IN ('AVAILABLE', 'RESERVED', 'ADOPTED'));
+ALTER TABLE dog ADD COLUMN reserved_until TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE dog ADD COLUMN reservation_token VARCHAR(36);
+
+-- Listing by availability, and the sweeper's scan for expired holds
+CREATE INDEX idx_dog_status_id ON dog (status, id);
+CREATE INDEX idx_dog_reserved_until ON dog (reserved_until);
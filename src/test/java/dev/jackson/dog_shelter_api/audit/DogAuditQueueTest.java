@@ -0,0 +1,105 @@
+package dev.jackson.dog_shelter_api.audit;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.enums.AuditOverflowPolicy;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DogAuditQueueTest {
+
+    @TempDir
+    private Path spillDirectory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void whenTheQueueIsFullWithTheDropPolicyThenTheRecordIsDroppedAndCounted() {
+        //given
+        DogAuditQueue queue = queue(AuditOverflowPolicy.DROP);
+
+        //when
+        queue.offer(record(1L));
+        queue.offer(record(2L));
+
+        //then
+        assertEquals(1, count("queued"));
+        assertEquals(1, count("dropped"));
+        assertEquals(1.0, meterRegistry.get("dog.audit.queue.size").gauge().value());
+    }
+
+    @Test
+    void whenTheQueueIsFullWithTheBlockPolicyThenTheRecordIsDroppedAfterTheTimeout() {
+        //given
+        DogAuditQueue queue = queue(AuditOverflowPolicy.BLOCK);
+
+        //when
+        queue.offer(record(1L));
+        queue.offer(record(2L));
+
+        //then
+        assertEquals(1, count("dropped"));
+    }
+
+    @Test
+    void whenTheQueueIsFullWithTheSpillPolicyThenTheRecordIsReadBackFromTheSpillFile() {
+        //given
+        DogAuditQueue queue = queue(AuditOverflowPolicy.SPILL);
+        DogAuditRecord spilledRecord = record(2L);
+
+        //when
+        queue.offer(record(1L));
+        queue.offer(spilledRecord);
+        List<Path> spillFiles = queue.takeSpillFiles();
+
+        //then
+        assertEquals(1, count("spilled"));
+        assertEquals(1, spillFiles.size());
+        assertEquals(List.of(spilledRecord), queue.readSpillFile(spillFiles.getFirst()));
+        assertFalse(Files.exists(spillDirectory.resolve("audit-spill.ndjson")));
+    }
+
+    @Test
+    void whenRecordsAreDrainedThenTheyComeOutInCommitOrder() throws Exception {
+        //given
+        DogAuditQueue queue = new DogAuditQueue(10, AuditOverflowPolicy.DROP, Duration.ZERO, spillDirectory,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        queue.offer(record(1L));
+        queue.offer(record(2L));
+        queue.offer(record(3L));
+
+        //when
+        List<DogAuditRecord> batch = new ArrayList<>();
+        batch.add(queue.poll(Duration.ZERO));
+        queue.drainTo(batch, 1);
+
+        //then
+        assertEquals(List.of(1L, 2L), batch.stream().map(DogAuditRecord::dogId).toList());
+        assertFalse(queue.isEmpty());
+    }
+
+    private DogAuditQueue queue(AuditOverflowPolicy policy) {
+        return new DogAuditQueue(1, policy, Duration.ofMillis(10), spillDirectory,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry);
+    }
+
+    private DogAuditRecord record(Long dogId) {
+        return new DogAuditRecord(dogId, DogChangeType.REGISTERED, null,
+                DogDTOBuilder.builder().id(dogId).build().toDogDTO(), Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get(DogAuditQueue.EVENTS_METER).tag("outcome", outcome).counter().count();
+    }
+}
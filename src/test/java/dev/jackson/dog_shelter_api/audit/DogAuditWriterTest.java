@@ -0,0 +1,99 @@
+package dev.jackson.dog_shelter_api.audit;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.entity.DogAuditEntry;
+import dev.jackson.dog_shelter_api.enums.AuditOverflowPolicy;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.repository.DogAuditRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DogAuditWriterTest {
+
+    @TempDir
+    private Path spillDirectory;
+
+    @Mock
+    private DogAuditRepository dogAuditRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenTheWriterStopsThenEveryQueuedRecordIsWritten() {
+        //given
+        DogAuditQueue queue = new DogAuditQueue(100, AuditOverflowPolicy.DROP, Duration.ZERO, spillDirectory,
+                objectMapper, meterRegistry);
+        DogAuditWriter writer = new DogAuditWriter(queue, dogAuditRepository, entityManager,
+                new TransactionTemplate(transactionManager), objectMapper, meterRegistry, 2, Duration.ofMillis(50),
+                Duration.ofSeconds(10));
+        List<Long> writtenIds = new ArrayList<>();
+        when(dogAuditRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            ((List<DogAuditEntry>) invocation.getArgument(0)).forEach(entry -> writtenIds.add(entry.getDogId()));
+            return invocation.getArgument(0);
+        });
+
+        //when
+        for (long id = 1; id <= 5; id++) {
+            queue.offer(new DogAuditRecord(id, DogChangeType.REGISTERED, null,
+                    DogDTOBuilder.builder().id(id).build().toDogDTO(), Instant.now()));
+        }
+        writer.start();
+        writer.stop();
+
+        //then
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), writtenIds);
+        assertTrue(queue.isEmpty());
+        assertEquals(5, meterRegistry.get(DogAuditQueue.EVENTS_METER).tag("outcome", "written").counter().count());
+    }
+
+    @Test
+    void whenABatchCannotBeWrittenWithTheSpillPolicyThenItIsSpilledAndReplayed() {
+        //given
+        DogAuditQueue queue = new DogAuditQueue(100, AuditOverflowPolicy.SPILL, Duration.ZERO, spillDirectory,
+                objectMapper, meterRegistry);
+        DogAuditWriter writer = new DogAuditWriter(queue, dogAuditRepository, entityManager,
+                new TransactionTemplate(transactionManager), objectMapper, meterRegistry, 10, Duration.ofMillis(50),
+                Duration.ofSeconds(10));
+        when(dogAuditRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        queue.offer(new DogAuditRecord(1L, DogChangeType.DELETED, null, null, Instant.now()));
+        writer.start();
+        writer.stop();
+
+        //then
+        ArgumentCaptor<List<DogAuditEntry>> entries = ArgumentCaptor.captor();
+        verify(dogAuditRepository, times(2)).saveAll(entries.capture());
+        assertEquals(DogChangeType.DELETED, entries.getValue().getFirst().getChangeType());
+        assertTrue(queue.takeSpillFiles().isEmpty());
+    }
+}
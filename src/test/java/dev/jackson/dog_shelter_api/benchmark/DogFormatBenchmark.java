@@ -0,0 +1,84 @@
+package dev.jackson.dog_shelter_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.infra.DogProtobufHttpMessageConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time of 10k dogs per response format. The encoded size of each
+ * format is printed once per trial, next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DogFormatBenchmark {
+
+    private static final Type DOG_LIST = new ParameterizedTypeReference<List<DogDTO>>() {}.getType();
+
+    @Param({"json", "json-gzip", "smile", "cbor", "protobuf"})
+    private String format;
+
+    @Param({"10000"})
+    private int dogs;
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+    private final DogProtobufHttpMessageConverter protobufConverter = new DogProtobufHttpMessageConverter();
+    private List<DogDTO> dogDTOs;
+
+    @Setup
+    public void setUp() throws IOException {
+        DogSize[] sizes = DogSize.values();
+        Instant updatedAt = Instant.parse("2025-01-01T00:00:00Z");
+        dogDTOs = new ArrayList<>(dogs);
+        for (int i = 0; i < dogs; i++) {
+            dogDTOs.add(new DogDTO((long) i, "DOG" + i, i % 2 == 0 ? "MALE" : "FEMALE", "ADULT",
+                    sizes[i % sizes.length], 0L, updatedAt.plusSeconds(i), "AVAILABLE"));
+        }
+        System.out.printf("%n%s: %d bytes for %d dogs%n", format, serialize().length, dogs);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return switch (format) {
+            case "json" -> jsonMapper.writeValueAsBytes(dogDTOs);
+            case "json-gzip" -> gzip(jsonMapper.writeValueAsBytes(dogDTOs));
+            case "smile" -> smileMapper.writeValueAsBytes(dogDTOs);
+            case "cbor" -> cborMapper.writeValueAsBytes(dogDTOs);
+            case "protobuf" -> {
+                MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+                protobufConverter.write(dogDTOs, DOG_LIST, DogProtobufHttpMessageConverter.APPLICATION_PROTOBUF, outputMessage);
+                yield outputMessage.getBodyAsBytes();
+            }
+            default -> throw new IllegalArgumentException(format);
+        };
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
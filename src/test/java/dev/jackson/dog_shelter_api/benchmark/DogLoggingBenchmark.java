@@ -0,0 +1,57 @@
+package dev.jackson.dog_shelter_api.benchmark;
+
+import dev.jackson.dog_shelter_api.DogShelterApiApplication;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.service.DogService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of registerDog with the default logging setup (show-sql, INFO on
+ * every write, synchronous console) against the {@code prod} profile. Unlike
+ * {@link DogServiceEndToEndBenchmark} nothing is silenced, so stdout should be
+ * redirected to a file as it would be in a container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class DogLoggingBenchmark {
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private final AtomicLong nameSequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private DogService dogService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(DogShelterApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .properties("spring.datasource.url=jdbc:h2:mem:dog_shelter_logging_benchmark;DB_CLOSE_DELAY=-1")
+                .run();
+        dogService = context.getBean(DogService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public DogDTO registerDog() {
+        return dogService.registerDog(new DogDTO(null, "L" + nameSequence.incrementAndGet(), "MALE", "ADULT",
+                DogSize.ME, null, null, null));
+    }
+}
@@ -0,0 +1,25 @@
+package dev.jackson.dog_shelter_api.benchmark;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.mapper.DogMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DogMapperBenchmark {
+
+    private final DogMapper dogMapper = DogMapper.INSTANCE;
+    private final DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+
+    @Benchmark
+    public DogDTO toModelAndBackToDTO() {
+        return dogMapper.toDTO(dogMapper.toModel(dogDTO));
+    }
+}
@@ -0,0 +1,52 @@
+package dev.jackson.dog_shelter_api.benchmark;
+
+import dev.jackson.dog_shelter_api.dto.DogNameMatchDTO;
+import dev.jackson.dog_shelter_api.loadtest.DogDataGenerator;
+import dev.jackson.dog_shelter_api.search.DogNameIndex;
+import dev.jackson.dog_shelter_api.service.DogService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name search against an index of the load test's names. Sample time, so the
+ * percentiles show next to the average: a prefix the exact matches fill, a
+ * typo only the fuzzy walk finds, and a query nothing is near.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DogNameIndexBenchmark {
+
+    @Param({"1000000"})
+    private int names;
+
+    private DogNameIndex dogNameIndex;
+
+    @Setup
+    public void loadIndex() {
+        dogNameIndex = new DogNameIndex(null);
+        for (long id = 0; id < names; id++) {
+            dogNameIndex.put(id, DogDataGenerator.nameOf(id));
+        }
+    }
+
+    @Benchmark
+    public List<DogNameMatchDTO> prefix() {
+        return dogNameIndex.search("BEL", DogService.DEFAULT_SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public List<DogNameMatchDTO> oneTypo() {
+        return dogNameIndex.search("BELA-2", DogService.DEFAULT_SEARCH_LIMIT);
+    }
+
+    @Benchmark
+    public List<DogNameMatchDTO> noMatch() {
+        return dogNameIndex.search("BXQZW", DogService.DEFAULT_SEARCH_LIMIT);
+    }
+}
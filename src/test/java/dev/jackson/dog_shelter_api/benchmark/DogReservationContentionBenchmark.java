@@ -0,0 +1,105 @@
+package dev.jackson.dog_shelter_api.benchmark;
+
+import dev.jackson.dog_shelter_api.DogShelterApiApplication;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.exception.DogNotAvailableException;
+import dev.jackson.dog_shelter_api.service.DogAdoptionService;
+import dev.jackson.dog_shelter_api.service.DogService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hundreds of adopters reserving the same dog at the same moment, against an
+ * embedded H2 database. Each invocation registers a fresh dog, releases all
+ * reservers at once and waits for every answer, so the score is the time for
+ * the whole crowd to be served. Fails if anything but exactly one reserver wins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Fork(1)
+public class DogReservationContentionBenchmark {
+
+    @Param({"100", "500"})
+    private int reservers;
+
+    private final AtomicLong nameSequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private DogService dogService;
+    private DogAdoptionService dogAdoptionService;
+    private ExecutorService executor;
+    private Long dogId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(DogShelterApiApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments, unlike default properties, take precedence over application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:dog_shelter_contention;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        dogService = context.getBean(DogService.class);
+        dogAdoptionService = context.getBean(DogAdoptionService.class);
+        executor = Executors.newFixedThreadPool(reservers);
+    }
+
+    @Setup(Level.Invocation)
+    public void registerDog() {
+        dogId = dogService.registerDog(
+                new DogDTO(null, "R" + nameSequence.incrementAndGet(), "FEMALE", "PUPPY", DogSize.SM, null, null, null)).id();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int reserveTheSameDog() throws InterruptedException, ExecutionException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>(reservers);
+        for (int i = 0; i < reservers; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    dogAdoptionService.reserve(dogId);
+                    return true;
+                } catch (DogNotAvailableException | ConcurrencyFailureException e) {
+                    // Lost the race, either to a committed reservation or on the row lock
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int winners = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get()) {
+                winners++;
+            }
+        }
+        if (winners != 1) {
+            throw new IllegalStateException(winners + " reservers won the same dog");
+        }
+        return winners;
+    }
+}
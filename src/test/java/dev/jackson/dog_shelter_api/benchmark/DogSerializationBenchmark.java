@@ -0,0 +1,40 @@
+package dev.jackson.dog_shelter_api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DogSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int dogs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<DogDTO> dogDTOs;
+
+    @Setup
+    public void setUp() {
+        DogSize[] sizes = DogSize.values();
+        dogDTOs = new ArrayList<>(dogs);
+        for (int i = 0; i < dogs; i++) {
+            dogDTOs.add(new DogDTO((long) i, "DOG" + i, i % 2 == 0 ? "MALE" : "FEMALE", "ADULT", sizes[i % sizes.length], 0L, null, "AVAILABLE"));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dogDTOs);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.jackson.dog_shelter_api.benchmark;
+
+import dev.jackson.dog_shelter_api.entity.Dog;
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.service.DogService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-path helpers of {@link DogService} that don't touch the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DogServiceBenchmark {
+
+    private final DogService dogService = new DogService(null, null, null, null, null, null, null, null);
+
+    @Benchmark
+    public Dog setDataToUpperCase() {
+        Dog dog = Dog.builder().name("Jay").gender(DogGender.MALE).age(DogAge.ADULT).size(DogSize.GI).build();
+        return dogService.setDataToUpperCase(dog);
+    }
+}
@@ -0,0 +1,89 @@
+package dev.jackson.dog_shelter_api.benchmark;
+
+import dev.jackson.dog_shelter_api.DogShelterApiApplication;
+import dev.jackson.dog_shelter_api.dto.DogBatchResultDTO;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.infra.CacheConfigurations;
+import dev.jackson.dog_shelter_api.service.DogService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link DogService} against an embedded H2 database. The batch benchmark
+ * reports the time per dog, so it can be compared directly with registerDog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DogServiceEndToEndBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+    private static final String KNOWN_NAME = "BENCHMARK";
+
+    private final AtomicLong nameSequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private DogService dogService;
+    private Cache dogsByName;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(DogShelterApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:dog_shelter_benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        dogService = context.getBean(DogService.class);
+        dogsByName = context.getBean(CacheManager.class).getCache(CacheConfigurations.DOGS_BY_NAME);
+        dogService.registerDog(new DogDTO(null, KNOWN_NAME, "FEMALE", "PUPPY", DogSize.SM, null, null, null));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public DogDTO registerDog() {
+        return dogService.registerDog(nextDog());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<DogBatchResultDTO> registerDogsInBatch() {
+        List<DogDTO> dogs = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            dogs.add(nextDog());
+        }
+        return dogService.registerDogs(dogs);
+    }
+
+    @Benchmark
+    public DogDTO findByNameCached() {
+        return dogService.findByName(KNOWN_NAME);
+    }
+
+    @Benchmark
+    public DogDTO findByNameUncached() {
+        dogsByName.evict(KNOWN_NAME);
+        return dogService.findByName(KNOWN_NAME);
+    }
+
+    private DogDTO nextDog() {
+        return new DogDTO(null, "B" + nameSequence.incrementAndGet(), "MALE", "ADULT", DogSize.ME, null, null, null);
+    }
+}
@@ -0,0 +1,63 @@
+package dev.jackson.dog_shelter_api.benchmark;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.validation.EnumValue;
+import dev.jackson.dog_shelter_api.validation.EnumValueValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Bean Validation path that replaced the service's own age and gender
+ * checks: a whole request body, and the {@link EnumValueValidator} alone.
+ * Run with the profile's {@code -prof gc} to compare the bytes per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DogValidationBenchmark {
+
+    private final DogDTO validDog = DogDTOBuilder.builder().gender("Female").age("Adult").build().toDogDTO();
+    private final DogDTO invalidDog = DogDTOBuilder.builder().gender("Unknown").age("Adult").build().toDogDTO();
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private EnumValueValidator genderValidator;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        genderValidator = new EnumValueValidator();
+        genderValidator.initialize(DogDTO.class.getDeclaredField("gender").getAnnotation(EnumValue.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DogDTO>> validateValidDog() {
+        return validator.validate(validDog);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DogDTO>> validateInvalidDog() {
+        return validator.validate(invalidDog);
+    }
+
+    @Benchmark
+    public boolean enumValueIsValid() {
+        return genderValidator.isValid(validDog.gender(), null);
+    }
+}
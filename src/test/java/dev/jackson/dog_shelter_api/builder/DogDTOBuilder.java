@@ -1,5 +1,7 @@
 package dev.jackson.dog_shelter_api.builder;
 
+import java.time.Instant;
+
 import dev.jackson.dog_shelter_api.dto.DogDTO;
 import dev.jackson.dog_shelter_api.enums.DogSize;
 import lombok.Builder;
@@ -22,11 +24,20 @@ public class DogDTOBuilder {
     @Builder.Default
     private DogSize size = DogSize.GI;
 
+    @Builder.Default
+    private Long version = null;
+
+    @Builder.Default
+    private Instant updatedAt = null;
+
+    @Builder.Default
+    private String status = null;
+
     public DogDTO toDogDTO(){
-        return new DogDTO(id, name, gender, age, size);
+        return new DogDTO(id, name, gender, age, size, version, updatedAt, status);
     }
 
     public DogDTO toDogDTO(String name){
-        return new DogDTO(id, name, gender, age, size);
+        return new DogDTO(id, name, gender, age, size, version, updatedAt, status);
     }
 }
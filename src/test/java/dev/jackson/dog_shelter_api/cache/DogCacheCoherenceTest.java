@@ -0,0 +1,88 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import dev.jackson.dog_shelter_api.DogShelterApiApplication;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.service.DogService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes in one JVM: separate application contexts sharing the database and
+ * an in-process invalidation channel.
+ */
+public class DogCacheCoherenceTest {
+
+    private static final DogFilter NO_FILTER = DogFilter.none();
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(DogShelterApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:dog_shelter_coherence;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "dog-shelter.cache.coherence.channel=coherence-test")
+                .run();
+    }
+
+    @Test
+    @DisplayName("When a node updates a dog then the other node stops serving its cached record")
+    void whenANodeUpdatesADogThenTheOtherNodeStopsServingTheCachedRecord() {
+        //Given
+        DogService serviceA = nodeA.getBean(DogService.class);
+        DogService serviceB = nodeB.getBean(DogService.class);
+        DogDTO registered = serviceA.registerDog(new DogDTO(null, "MILO", "MALE", "PUPPY", DogSize.SM, null, null, null));
+        assertEquals("PUPPY", serviceA.findByName("MILO").age());
+        String eTag = nodeA.getBean(DogChangeCounter.class).collectionETag(NO_FILTER, null, 20);
+
+        //When
+        serviceB.updateDogsRecord(registered.id(),
+                new DogDTO(null, "MILO", "MALE", "ADULT", DogSize.SM, registered.version(), null, null));
+
+        //Then
+        DogDTO found = serviceA.findByName("milo");
+        assertEquals("ADULT", found.age());
+        assertEquals(registered.version() + 1, found.version());
+        assertNotEquals(eTag, nodeA.getBean(DogChangeCounter.class).collectionETag(NO_FILTER, null, 20));
+    }
+
+    @Test
+    @DisplayName("When a node deletes a dog then the other node no longer finds it")
+    void whenANodeDeletesADogThenTheOtherNodeNoLongerFindsIt() {
+        //Given
+        DogService serviceA = nodeA.getBean(DogService.class);
+        DogService serviceB = nodeB.getBean(DogService.class);
+        DogDTO registered = serviceB.registerDog(new DogDTO(null, "LUNA", "FEMALE", "ADULT", DogSize.ME, null, null, null));
+        assertNotNull(serviceA.findByName("LUNA"));
+
+        //When
+        serviceB.deleteById(registered.id());
+
+        //Then
+        assertThrows(DogNotFoundException.class, () -> serviceA.findByName("LUNA"));
+    }
+}
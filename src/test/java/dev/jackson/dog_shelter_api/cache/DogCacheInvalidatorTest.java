@@ -0,0 +1,188 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import dev.jackson.dog_shelter_api.infra.CacheConfigurations;
+import dev.jackson.dog_shelter_api.repository.DogRepository;
+import dev.jackson.dog_shelter_api.search.DogNameIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class DogCacheInvalidatorTest {
+
+    private static final DogFilter NO_FILTER = DogFilter.none();
+
+    private String channel;
+    private InProcessDogCacheTransport transport;
+    private Cache dogsByName;
+    private Cache dogStats;
+    private DogCacheInvalidator dogCacheInvalidator;
+
+    @BeforeEach
+    void setUp() {
+        channel = UUID.randomUUID().toString();
+        transport = new InProcessDogCacheTransport(channel);
+        CacheManager cacheManager = newCacheManager();
+        dogsByName = cacheManager.getCache(CacheConfigurations.DOGS_BY_NAME);
+        dogStats = cacheManager.getCache(CacheConfigurations.DOG_STATS);
+        dogCacheInvalidator = new DogCacheInvalidator(cacheManager, newCounter(), transport,
+                Optional.empty(), Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+    }
+
+    private static DogChangeCounter newCounter() {
+        return new DogChangeCounter(Duration.ofMinutes(1), Duration.ZERO);
+    }
+
+    private static CacheManager newCacheManager() {
+        return new CacheConfigurations().cacheManager(100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("When a dog is renamed then both the old and the new name are evicted")
+    void whenADogIsRenamedThenBothNamesAreEvicted() {
+        //Given
+        DogDTO before = DogDTOBuilder.builder().build().toDogDTO("JAY");
+        DogDTO after = DogDTOBuilder.builder().build().toDogDTO("Rex");
+        dogsByName.put("JAY", before);
+        dogsByName.put("REX", after);
+
+        //When
+        dogCacheInvalidator.onDogChanged(new DogChangedEvent(DogChangeType.UPDATED, before.id(), before, after));
+
+        //Then
+        assertNull(dogsByName.get("JAY"));
+        assertNull(dogsByName.get("REX"));
+    }
+
+    @Test
+    @DisplayName("When an update doesn't carry the previous record then the entry is evicted by id")
+    void whenAnUpdateHasNoPreviousRecordThenTheEntryIsEvictedById() {
+        //Given
+        DogDTO before = DogDTOBuilder.builder().build().toDogDTO("JAY");
+        DogDTO after = DogDTOBuilder.builder().build().toDogDTO("REX");
+        dogsByName.put("JAY", before);
+
+        //When
+        dogCacheInvalidator.onDogChanged(new DogChangedEvent(DogChangeType.UPDATED, before.id(), null, after));
+
+        //Then
+        assertNull(dogsByName.get("JAY"));
+    }
+
+    @Test
+    @DisplayName("When a dog is deleted then only its name is evicted")
+    void whenADogIsDeletedThenOnlyItsNameIsEvicted() {
+        //Given
+        DogDTO deleted = DogDTOBuilder.builder().build().toDogDTO("JAY");
+        DogDTO other = DogDTOBuilder.builder().id(2L).build().toDogDTO("REX");
+        dogsByName.put("JAY", deleted);
+        dogsByName.put("REX", other);
+
+        //When
+        dogCacheInvalidator.onDogChanged(new DogChangedEvent(DogChangeType.DELETED, deleted.id(), null, null));
+
+        //Then
+        assertNull(dogsByName.get("JAY"));
+        assertNotNull(dogsByName.get("REX"));
+    }
+
+    @Test
+    @DisplayName("When a dog is registered then the cached statistics are evicted")
+    void whenADogIsRegisteredThenTheStatisticsAreEvicted() {
+        //Given
+        DogDTO registered = DogDTOBuilder.builder().build().toDogDTO();
+        dogStats.put("all", "cached");
+
+        //When
+        dogCacheInvalidator.onDogChanged(new DogChangedEvent(DogChangeType.REGISTERED, registered.id(), null, registered));
+
+        //Then
+        assertNull(dogStats.get("all"));
+    }
+
+    @Test
+    @DisplayName("When another node updates a dog then its entry and the statistics are evicted here")
+    void whenAnotherNodeUpdatesADogThenTheEntryIsEvicted() {
+        //Given
+        DogChangeCounter otherCounter = newCounter();
+        CacheManager otherCacheManager = newCacheManager();
+        InProcessDogCacheTransport otherTransport = new InProcessDogCacheTransport(channel);
+        DogCacheInvalidator otherNode = new DogCacheInvalidator(otherCacheManager, otherCounter, otherTransport,
+                Optional.empty(), Optional.empty());
+        Cache otherDogsByName = otherCacheManager.getCache(CacheConfigurations.DOGS_BY_NAME);
+        DogDTO cached = DogDTOBuilder.builder().version(3L).build().toDogDTO();
+        DogDTO updated = DogDTOBuilder.builder().version(4L).build().toDogDTO();
+        otherDogsByName.put("JAY", cached);
+        otherCacheManager.getCache(CacheConfigurations.DOG_STATS).put("all", "cached");
+        String eTag = otherCounter.collectionETag(NO_FILTER, null, 20);
+
+        //When
+        dogCacheInvalidator.onDogChanged(new DogChangedEvent(DogChangeType.UPDATED, cached.id(), null, updated));
+
+        //Then
+        assertNull(otherDogsByName.get("JAY"));
+        assertNull(otherCacheManager.getCache(CacheConfigurations.DOG_STATS).get("all"));
+        assertNotEquals(eTag, otherCounter.collectionETag(NO_FILTER, null, 20));
+        otherTransport.close();
+    }
+
+    @Test
+    @DisplayName("When another node renames a dog then the name index here follows")
+    void whenAnotherNodeRenamesADogThenTheNameIndexFollows() {
+        //Given
+        DogNameIndex otherIndex = new DogNameIndex(mock(DogRepository.class));
+        InProcessDogCacheTransport otherTransport = new InProcessDogCacheTransport(channel);
+        new DogCacheInvalidator(newCacheManager(), newCounter(), otherTransport,
+                Optional.of(otherIndex), Optional.empty());
+        DogDTO before = DogDTOBuilder.builder().build().toDogDTO("JAY");
+        DogDTO after = DogDTOBuilder.builder().version(4L).build().toDogDTO("REX");
+        otherIndex.put(before.id(), before.name());
+
+        //When
+        dogCacheInvalidator.onDogChanged(new DogChangedEvent(DogChangeType.UPDATED, before.id(), before, after));
+
+        //Then
+        assertTrue(otherIndex.search("JAY", 10).isEmpty());
+        assertEquals(before.id(), otherIndex.search("REX", 10).getFirst().id());
+        otherTransport.close();
+    }
+
+    @Test
+    @DisplayName("When a node receives its own invalidation back then it is ignored")
+    void whenANodeReceivesItsOwnInvalidationThenItIsIgnored() {
+        //Given
+        DogChangeCounter counter = newCounter();
+        CacheManager cacheManager = newCacheManager();
+        InProcessDogCacheTransport echoingTransport = new InProcessDogCacheTransport(UUID.randomUUID().toString());
+        DogCacheInvalidator node = new DogCacheInvalidator(cacheManager, counter, echoingTransport,
+                Optional.empty(), Optional.empty());
+        String eTag = counter.collectionETag(NO_FILTER, null, 20);
+        DogDTO deleted = DogDTOBuilder.builder().build().toDogDTO();
+
+        //When
+        node.onDogChanged(new DogChangedEvent(DogChangeType.DELETED, deleted.id(), null, null));
+
+        //Then
+        assertEquals(eTag, counter.collectionETag(NO_FILTER, null, 20));
+        echoingTransport.close();
+    }
+}
@@ -0,0 +1,82 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DogChangeCounterTest {
+
+    private static final DogFilter NO_FILTER = DogFilter.none();
+    private static final Duration MAX_AGE = Duration.ofSeconds(30);
+    private static final Duration CATCH_UP_WINDOW = Duration.ofSeconds(10);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private DogChangeCounter dogChangeCounter;
+
+    @BeforeEach
+    void setUp() {
+        dogChangeCounter = new DogChangeCounter(MAX_AGE, CATCH_UP_WINDOW, now::get);
+    }
+
+    @Test
+    @DisplayName("When nothing changes within the max age then the tag stays the same")
+    void whenNothingChangesWithinTheMaxAgeThenTheTagStaysTheSame() {
+        //Given
+        String eTag = dogChangeCounter.collectionETag(NO_FILTER, null, 20);
+
+        //When
+        now.addAndGet(MAX_AGE.toMillis() - 1);
+
+        //Then
+        assertEquals(eTag, dogChangeCounter.collectionETag(NO_FILTER, null, 20));
+    }
+
+    @Test
+    @DisplayName("When a change is committed then the tag moves")
+    void whenAChangeIsCommittedThenTheTagMoves() {
+        //Given
+        String eTag = dogChangeCounter.collectionETag(NO_FILTER, null, 20);
+
+        //When
+        dogChangeCounter.onDogChanged(new DogChangedEvent(DogChangeType.DELETED, 1L, null, null));
+
+        //Then
+        assertNotEquals(eTag, dogChangeCounter.collectionETag(NO_FILTER, null, 20));
+    }
+
+    @Test
+    @DisplayName("When the max age passes then the tag moves even without a known change")
+    void whenTheMaxAgePassesThenTheTagMovesEvenWithoutAKnownChange() {
+        //Given
+        String eTag = dogChangeCounter.collectionETag(NO_FILTER, null, 20);
+
+        //When
+        now.addAndGet(MAX_AGE.toMillis());
+
+        //Then
+        assertNotEquals(eTag, dogChangeCounter.collectionETag(NO_FILTER, null, 20));
+    }
+
+    @Test
+    @DisplayName("When a change was just committed then it counts as recent until replicas may have caught up")
+    void whenAChangeWasJustCommittedThenItIsRecentUntilTheCatchUpWindowPasses() {
+        //Given
+        assertFalse(dogChangeCounter.changedRecently());
+
+        //When
+        dogChangeCounter.onRemoteChange();
+
+        //Then
+        assertTrue(dogChangeCounter.changedRecently());
+        now.addAndGet(CATCH_UP_WINDOW.toMillis());
+        assertFalse(dogChangeCounter.changedRecently());
+    }
+}
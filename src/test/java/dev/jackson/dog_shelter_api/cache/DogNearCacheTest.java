@@ -0,0 +1,73 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DogNearCacheTest {
+
+    private DogNearCache dogNearCache;
+
+    @BeforeEach
+    void setUp() {
+        dogNearCache = new DogNearCache("dogsByName", Caffeine.newBuilder().build(), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("When a lookup stores a record older than an invalidation then it is refused")
+    void whenALookupStoresAnOlderRecordAfterAnInvalidationThenItIsRefused() {
+        //Given
+        DogDTO stale = DogDTOBuilder.builder().version(1L).build().toDogDTO();
+        DogDTO current = DogDTOBuilder.builder().version(2L).build().toDogDTO();
+        dogNearCache.invalidate(stale.id(), 2L);
+
+        //When
+        dogNearCache.put("JAY", stale);
+
+        //Then
+        assertNull(dogNearCache.get("JAY"));
+        dogNearCache.put("JAY", current);
+        assertEquals(current, dogNearCache.get("JAY").get());
+    }
+
+    @Test
+    @DisplayName("When an invalidation arrives late then newer entries are kept")
+    void whenAnInvalidationArrivesLateThenNewerEntriesAreKept() {
+        //Given
+        DogDTO current = DogDTOBuilder.builder().version(3L).build().toDogDTO();
+        dogNearCache.invalidate(current.id(), 3L);
+        dogNearCache.put("JAY", current);
+
+        //When
+        dogNearCache.invalidate(current.id(), 2L);
+
+        //Then
+        assertEquals(current, dogNearCache.get("JAY").get());
+        dogNearCache.put("JAY", DogDTOBuilder.builder().version(2L).build().toDogDTO());
+        assertEquals(current, dogNearCache.get("JAY").get());
+    }
+
+    @Test
+    @DisplayName("When a dog is deleted then no version of it is cached again")
+    void whenADogIsDeletedThenNoVersionOfItIsCachedAgain() {
+        //Given
+        DogDTO deleted = DogDTOBuilder.builder().version(7L).build().toDogDTO();
+        DogDTO other = DogDTOBuilder.builder().id(2L).version(0L).build().toDogDTO("REX");
+
+        //When
+        dogNearCache.invalidate(deleted.id(), DogNearCache.ANY_VERSION);
+        dogNearCache.put("JAY", deleted);
+        dogNearCache.put("REX", other);
+
+        //Then
+        assertNull(dogNearCache.get("JAY"));
+        assertNotNull(dogNearCache.get("REX"));
+    }
+}
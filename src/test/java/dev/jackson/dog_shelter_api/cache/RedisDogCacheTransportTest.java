@@ -0,0 +1,85 @@
+package dev.jackson.dog_shelter_api.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The Redis server is stood in by the mocks: whatever is published is handed
+ * back to the subscribed listener, as the server would do.
+ */
+@ExtendWith(MockitoExtension.class)
+public class RedisDogCacheTransportTest {
+
+    private static final String CHANNEL = "dog-shelter-cache";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private RedisDogCacheTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        transport = new RedisDogCacheTransport(redisTemplate, listenerContainer, new ObjectMapper(), CHANNEL);
+    }
+
+    @Test
+    void whenAnInvalidationIsPublishedThenSubscribersReceiveIt() {
+        //Given
+        List<DogCacheInvalidation> received = new ArrayList<>();
+        transport.subscribe(received::add);
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+        DogCacheInvalidation invalidation = new DogCacheInvalidation("node-a", DogChangeType.UPDATED, 1L, 4L,
+                DogDTOBuilder.builder().version(4L).build().toDogDTO());
+
+        //When
+        transport.publish(invalidation);
+
+        //Then
+        ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), published.capture());
+        listener.getValue().onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                published.getValue().toString().getBytes(StandardCharsets.UTF_8)), null);
+        assertEquals(List.of(invalidation), received);
+    }
+
+    @Test
+    void whenAMessageIsUnreadableThenItIsIgnored() {
+        //Given
+        List<DogCacheInvalidation> received = new ArrayList<>();
+        transport.subscribe(received::add);
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+
+        //When
+        listener.getValue().onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        //Then
+        assertTrue(received.isEmpty());
+    }
+}
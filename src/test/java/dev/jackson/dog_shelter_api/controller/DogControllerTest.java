@@ -1,30 +1,68 @@
 package dev.jackson.dog_shelter_api.controller;
 
 import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.cache.DogChangeCounter;
+import dev.jackson.dog_shelter_api.dto.DogAdoptionDTO;
+import dev.jackson.dog_shelter_api.dto.DogBatchResultDTO;
 import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.dto.DogHistoryEntryDTO;
+import dev.jackson.dog_shelter_api.dto.DogNameMatchDTO;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.dto.DogReservationDTO;
+import dev.jackson.dog_shelter_api.dto.DogStatsDTO;
+import dev.jackson.dog_shelter_api.enums.BatchItemStatus;
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.exception.DogNotAvailableException;
 import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.exception.GlobalExceptionHandler;
+import dev.jackson.dog_shelter_api.feed.DogChangeFeed;
+import dev.jackson.dog_shelter_api.idempotency.IdempotencyKeyStore;
+import dev.jackson.dog_shelter_api.service.DogAdoptionService;
 import dev.jackson.dog_shelter_api.service.DogService;
+import dev.jackson.dog_shelter_api.service.DogServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 
 import static dev.jackson.dog_shelter_api.utils.JsonConvertionUtils.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +77,26 @@ public class DogControllerTest {
     @Mock
     private DogService dogService;
 
+    @Spy
+    private DogChangeCounter dogChangeCounter = new DogChangeCounter(Duration.ofMinutes(1), Duration.ZERO);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private DogChangeFeed dogChangeFeed;
+
+    @Mock
+    private DogAdoptionService dogAdoptionService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private DogServiceMetrics dogServiceMetrics = new DogServiceMetrics(meterRegistry);
+
+    @Spy
+    private IdempotencyKeyStore idempotencyKeyStore = new IdempotencyKeyStore(100, Duration.ofMinutes(1));
+
     @InjectMocks
     private DogController dogController;
 
@@ -46,6 +104,7 @@ public class DogControllerTest {
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(dogController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setControllerAdvice(new GlobalExceptionHandler())
                 .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
                 .build();
     }
@@ -68,6 +127,54 @@ public class DogControllerTest {
                 .andExpect(jsonPath("$.size", Matchers.is(dogDTO.size().toString())));
     }
 
+    @Test
+    void whenPOSTMethodIsRetriedWithTheSameIdempotencyKeyThenTheFirstResponseIsReplayed() throws Exception {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+
+        //when
+        when(dogService.registerDog(dogDTO)).thenReturn(dogDTO);
+
+        //then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post(API_URL_PATH)
+                            .header(IdempotencyKeyStore.IDEMPOTENCY_KEY, "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(dogDTO)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id", Matchers.is(dogDTO.id().intValue())));
+        }
+        mockMvc.perform(post(API_URL_PATH)
+                        .header(IdempotencyKeyStore.IDEMPOTENCY_KEY, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(dogDTO)))
+                .andExpect(header().string(IdempotencyKeyStore.IDEMPOTENT_REPLAYED, "true"));
+        verify(dogService, times(1)).registerDog(dogDTO);
+    }
+
+    @Test
+    void whenAnIdempotencyKeyIsReusedForAnotherDogThenUnprocessableEntityIsReturned() throws Exception {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+        DogDTO otherDogDTO = DogDTOBuilder.builder().build().toDogDTO("REX");
+
+        //when
+        when(dogService.registerDog(dogDTO)).thenReturn(dogDTO);
+
+        //then
+        mockMvc.perform(post(API_URL_PATH)
+                        .header(IdempotencyKeyStore.IDEMPOTENCY_KEY, "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(dogDTO)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(API_URL_PATH)
+                        .header(IdempotencyKeyStore.IDEMPOTENCY_KEY, "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(otherDogDTO)))
+                .andExpect(status().isUnprocessableEntity());
+        verify(dogService, never()).registerDog(otherDogDTO);
+    }
+
     @Test
     void whenPOSTMethodIsCalledWithoutARequiredFieldThenItShouldReturnAnError() throws Exception {
         //given
@@ -80,6 +187,59 @@ public class DogControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenPOSTBatchIsCalledWithAJsonArrayThenPerItemResultsAreReturned() throws Exception {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+
+        //when
+        when(dogService.registerDogs(List.of(dogDTO)))
+                .thenReturn(List.of(DogBatchResultDTO.created(0, dogDTO.name(), VALID_ID)));
+
+        //then
+        mockMvc.perform(post(API_URL_PATH + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(List.of(dogDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", Matchers.is(0)))
+                .andExpect(jsonPath("$[0].status", Matchers.is(BatchItemStatus.CREATED.toString())));
+    }
+
+    @Test
+    void whenPOSTBatchIsCalledWithNdjsonThenEveryLineIsRegistered() throws Exception {
+        //given
+        DogDTO firstDog = DogDTOBuilder.builder().build().toDogDTO("JAY");
+        DogDTO secondDog = DogDTOBuilder.builder().build().toDogDTO("REX");
+
+        //when
+        when(dogService.registerDogs(List.of(firstDog, secondDog))).thenReturn(List.of(
+                DogBatchResultDTO.created(0, firstDog.name(), 1L),
+                DogBatchResultDTO.created(1, secondDog.name(), 2L)));
+
+        //then
+        mockMvc.perform(post(API_URL_PATH + "/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(asJsonString(firstDog) + "\n" + asJsonString(secondDog) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].name", Matchers.is(secondDog.name())));
+    }
+
+    @Test
+    void whenPOSTBatchIsCalledWithNdjsonOverTheLimitThenItStopsReadingAndReturnsBadRequest() throws Exception {
+        //given
+        String line = asJsonString(DogDTOBuilder.builder().build().toDogDTO()) + "\n";
+        // A line that can't be parsed right after the limit, so reading past it would fail differently
+        String body = line.repeat(DogService.MAX_BATCH_SIZE + 1) + "not json\n";
+
+        //then
+        mockMvc.perform(post(API_URL_PATH + "/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", Matchers.containsString("between 1 and " + DogService.MAX_BATCH_SIZE)));
+        verifyNoInteractions(dogService);
+    }
+
     @Test
     void whenGetMethodIsCalledWithValidNameThenItReturnsARecord() throws Exception {
         //given
@@ -93,6 +253,8 @@ public class DogControllerTest {
                 .andExpect(jsonPath("$.name", Matchers.is(dogDTO.name())))
                 .andExpect(jsonPath("$.age", Matchers.is(dogDTO.age())))
                 .andExpect(jsonPath("$.size", Matchers.is(dogDTO.size().toString())));
+        assertEquals(1, meterRegistry.get(DogServiceMetrics.TIMER_NAME)
+                .tags("operation", "findByName", "outcome", "success").timer().count());
     }
 
     @Test
@@ -115,14 +277,183 @@ public class DogControllerTest {
         //given
         DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
 
-        when(dogService.listAll()).thenReturn(Collections.singletonList(dogDTO));
+        when(dogService.listAll(DogFilter.none(), null, DogService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new DogPageDTO(Collections.singletonList(dogDTO), null));
+
+        mockMvc.perform(get(API_URL_PATH)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name", Matchers.is(dogDTO.name())))
+                .andExpect(jsonPath("$.content[0].age", Matchers.is(dogDTO.age())))
+                .andExpect(jsonPath("$.content[0].size", Matchers.is(dogDTO.size().toString())));
+    }
+
+    @Test
+    void whenGetMethodIsCalledWithFiltersAndCursorThenTheyAreForwardedToTheService() throws Exception {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+        DogFilter filter = new DogFilter(DogSize.GI, "adult", null, null);
+
+        when(dogService.listAll(filter, "MQ", 10))
+                .thenReturn(new DogPageDTO(Collections.singletonList(dogDTO), "Mg"));
 
         mockMvc.perform(get(API_URL_PATH)
+                        .param("size", "GI")
+                        .param("age", "adult")
+                        .param("cursor", "MQ")
+                        .param("limit", "10")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name", Matchers.is(dogDTO.name())))
-                .andExpect(jsonPath("$[0].age", Matchers.is(dogDTO.age())))
-                .andExpect(jsonPath("$[0].size", Matchers.is(dogDTO.size().toString())));
+                .andExpect(jsonPath("$.content[0].name", Matchers.is(dogDTO.name())))
+                .andExpect(jsonPath("$.nextCursor", Matchers.is("Mg")));
+    }
+
+    @Test
+    void whenGetMethodIsCalledWithACurrentCollectionETagThenNotModifiedIsReturned() throws Exception {
+        //given
+        String eTag = dogChangeCounter.collectionETag(DogFilter.none(), null, DogService.DEFAULT_PAGE_SIZE);
+
+        //then
+        mockMvc.perform(get(API_URL_PATH)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        verify(dogService, never()).listAll(any(), any(), anyInt());
+    }
+
+    @Test
+    void whenGetMethodIsCalledWithTheCurrentVersionThenNotModifiedIsReturned() throws Exception {
+        //given
+        Instant updatedAt = Instant.parse("2025-01-01T00:00:00Z");
+        DogDTO dogDTO = DogDTOBuilder.builder().version(3L).updatedAt(updatedAt).build().toDogDTO();
+
+        //when
+        when(dogService.findByName("JAY")).thenReturn(dogDTO);
+
+        //then
+        mockMvc.perform(get(API_URL_PATH + "/JAY")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void whenGetMethodIsCalledWithAStaleVersionThenTheRecordIsReturnedWithValidators() throws Exception {
+        //given
+        Instant updatedAt = Instant.parse("2025-01-01T00:00:00Z");
+        DogDTO dogDTO = DogDTOBuilder.builder().version(4L).updatedAt(updatedAt).build().toDogDTO();
+
+        //when
+        when(dogService.findByName("JAY")).thenReturn(dogDTO);
+
+        //then
+        mockMvc.perform(get(API_URL_PATH + "/JAY")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, updatedAt.toEpochMilli()));
+    }
+
+    @Test
+    void whenGetMethodIsCalledAcceptingCborThenTheRecordIsReturnedAsCbor() throws Exception {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().version(4L).build().toDogDTO();
+
+        //when
+        when(dogService.findByName("JAY")).thenReturn(dogDTO);
+
+        //then
+        MvcResult result = mockMvc.perform(get(API_URL_PATH + "/JAY")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+        assertEquals(dogDTO, cborMapper.readValue(result.getResponse().getContentAsByteArray(), DogDTO.class));
+    }
+
+    @Test
+    void whenHistoryIsCalledThenTheChangesAreReturnedInOrder() throws Exception {
+        //given
+        DogDTO registered = DogDTOBuilder.builder().build().toDogDTO();
+        DogDTO renamed = DogDTOBuilder.builder().build().toDogDTO("REX");
+        Instant registeredAt = Instant.parse("2025-01-01T00:00:00Z");
+
+        //when
+        when(dogService.findHistory(VALID_ID)).thenReturn(List.of(
+                new DogHistoryEntryDTO(DogChangeType.REGISTERED, registeredAt, null, registered),
+                new DogHistoryEntryDTO(DogChangeType.UPDATED, registeredAt.plusSeconds(60), registered, renamed)));
+
+        //then
+        mockMvc.perform(get(API_URL_PATH + "/" + VALID_ID + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type", Matchers.is("REGISTERED")))
+                .andExpect(jsonPath("$[1].before.name", Matchers.is("JAY")))
+                .andExpect(jsonPath("$[1].after.name", Matchers.is("REX")));
+    }
+
+    @Test
+    void whenChangesIsCalledThenAnEventStreamIsOpenedFromTheLastEventId() throws Exception {
+        //when
+        when(dogChangeFeed.subscribe("abc-7")).thenReturn(new SseEmitter());
+
+        //then
+        mockMvc.perform(get(API_URL_PATH + "/changes")
+                        .header("Last-Event-ID", "abc-7")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(dogChangeFeed).subscribe("abc-7");
+    }
+
+    @Test
+    void whenStatsIsCalledThenTheCountsAreReturned() throws Exception {
+        //given
+        DogStatsDTO stats = new DogStatsDTO(2, Map.of(DogSize.GI, 2L), Map.of(DogAge.ADULT, 2L),
+                Map.of(DogGender.MALE, 1L, DogGender.FEMALE, 1L));
+
+        //when
+        when(dogService.stats()).thenReturn(stats);
+
+        //then
+        mockMvc.perform(get(API_URL_PATH + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", Matchers.is(2)))
+                .andExpect(jsonPath("$.bySize.GI", Matchers.is(2)))
+                .andExpect(jsonPath("$.byGender.FEMALE", Matchers.is(1)));
+    }
+
+    @Test
+    void whenSearchIsCalledThenTheMatchesAreReturned() throws Exception {
+        //when
+        when(dogService.searchByName("bud", DogService.DEFAULT_SEARCH_LIMIT))
+                .thenReturn(List.of(new DogNameMatchDTO(VALID_ID, "BUDDY", 0)));
+
+        //then
+        mockMvc.perform(get(API_URL_PATH + "/search")
+                        .param("q", "bud"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", Matchers.is("BUDDY")))
+                .andExpect(jsonPath("$[0].distance", Matchers.is(0)));
+    }
+
+    @Test
+    void whenExportIsCalledThenDogsAreStreamedAsNdjson() throws Exception {
+        //given
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"name\":\"JAY\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(dogService).exportAll(any(OutputStream.class));
+
+        //then
+        MvcResult mvcResult = mockMvc.perform(get(API_URL_PATH + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"name\":\"JAY\"}\n"));
     }
 
     @Test
@@ -180,4 +511,64 @@ public class DogControllerTest {
             System.out.println("gotcha");
         }
     }
+
+    @Test
+    void whenReserveIsCalledThenTheReservationIsReturned() throws Exception {
+        //given
+        Instant reservedUntil = Instant.parse("2025-01-01T10:15:00Z");
+        DogReservationDTO reservation = new DogReservationDTO(VALID_ID, "token", reservedUntil);
+
+        //when
+        when(dogAdoptionService.reserve(VALID_ID)).thenReturn(reservation);
+
+        //then
+        mockMvc.perform(post(API_URL_PATH + "/" + VALID_ID + "/reserve"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dogId", Matchers.is((int) VALID_ID)))
+                .andExpect(jsonPath("$.reservationToken", Matchers.is("token")));
+    }
+
+    @Test
+    void whenReserveIsCalledForAnUnavailableDogThenConflictIsReturned() throws Exception {
+        //when
+        when(dogAdoptionService.reserve(VALID_ID))
+                .thenThrow(new DogNotAvailableException("The dog was reserved by someone else."));
+
+        //then
+        mockMvc.perform(post(API_URL_PATH + "/" + VALID_ID + "/reserve"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void whenTheDatabaseRefusesAConcurrentReservationThenConflictIsReturned() throws Exception {
+        //when
+        when(dogAdoptionService.reserve(VALID_ID)).thenThrow(new CannotAcquireLockException("row locked"));
+
+        //then
+        mockMvc.perform(post(API_URL_PATH + "/" + VALID_ID + "/reserve"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void whenAdoptIsCalledWithTheReservationTokenThenOkStatusIsReturned() throws Exception {
+        //when
+        doNothing().when(dogAdoptionService).adopt(VALID_ID, "token");
+
+        //then
+        mockMvc.perform(post(API_URL_PATH + "/" + VALID_ID + "/adopt")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new DogAdoptionDTO("token"))))
+                .andExpect(status().isOk());
+        verify(dogAdoptionService).adopt(VALID_ID, "token");
+    }
+
+    @Test
+    void whenAdoptIsCalledWithoutAReservationTokenThenBadRequestIsReturned() throws Exception {
+        //then
+        mockMvc.perform(post(API_URL_PATH + "/" + VALID_ID + "/adopt")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new DogAdoptionDTO(" "))))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(dogAdoptionService);
+    }
 }
@@ -0,0 +1,179 @@
+package dev.jackson.dog_shelter_api.controller;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.cache.DogChangeCounter;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.exception.GlobalExceptionHandler;
+import dev.jackson.dog_shelter_api.service.DogService;
+import dev.jackson.dog_shelter_api.service.ReactiveDogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static dev.jackson.dog_shelter_api.utils.JsonConvertionUtils.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveDogControllerTest {
+
+    private static final String API_URL_PATH = "/api/v1/dogs";
+    private static final long VALID_ID = 1L;
+    private static final long INVALID_ID = 2L;
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveDogService dogService;
+
+    @Spy
+    private DogChangeCounter dogChangeCounter = new DogChangeCounter(Duration.ofMinutes(1), Duration.ZERO);
+
+    @InjectMocks
+    private ReactiveDogController dogController;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(dogController)
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void whenPOSTMethodIsCalledThenADogRecordIsRegistered() {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+
+        //when
+        when(dogService.registerDog(dogDTO)).thenReturn(Mono.just(dogDTO));
+
+        //then
+        webTestClient.post().uri(API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(asJsonString(dogDTO))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo(dogDTO.name())
+                .jsonPath("$.size").isEqualTo(dogDTO.size().toString());
+    }
+
+    @Test
+    void whenPOSTMethodIsCalledWithoutARequiredFieldThenItShouldReturnAnError() {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO(null);
+
+        //then
+        webTestClient.post().uri(API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(asJsonString(dogDTO))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(dogService);
+    }
+
+    @Test
+    void whenGetMethodIsCalledWithValidNameThenItReturnsARecord() {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().version(2L).build().toDogDTO();
+
+        //when
+        when(dogService.findByName(dogDTO.name())).thenReturn(Mono.just(dogDTO));
+
+        //then
+        webTestClient.get().uri(API_URL_PATH + "/" + dogDTO.name())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"")
+                .expectBody()
+                .jsonPath("$.name").isEqualTo(dogDTO.name());
+    }
+
+    @Test
+    void whenGetMethodIsCalledWithInvalidNameThenItReturnsNotFound() {
+        //when
+        when(dogService.findByName("REX")).thenReturn(Mono.error(new DogNotFoundException("Dog named REX was not found in the system")));
+
+        //then
+        webTestClient.get().uri(API_URL_PATH + "/REX")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenGetMethodIsCalledWithoutParamsThenItReturnsAPage() {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+
+        //when
+        when(dogService.listAll(DogFilter.none(), null, DogService.DEFAULT_PAGE_SIZE))
+                .thenReturn(Mono.just(new DogPageDTO(List.of(dogDTO), "Mg")));
+
+        //then
+        webTestClient.get().uri(API_URL_PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].name").isEqualTo(dogDTO.name())
+                .jsonPath("$.nextCursor").isEqualTo("Mg");
+    }
+
+    @Test
+    void whenGetMethodAcceptsNdjsonThenEveryMatchingDogIsStreamed() {
+        //given
+        DogDTO firstDog = DogDTOBuilder.builder().build().toDogDTO("JAY");
+        DogDTO secondDog = DogDTOBuilder.builder().id(2L).build().toDogDTO("REX");
+
+        //when
+        when(dogService.streamAll(DogFilter.none())).thenReturn(Flux.just(firstDog, secondDog));
+
+        //then
+        webTestClient.get().uri(API_URL_PATH)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(DogDTO.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void whenDeleteMethodIsCalledWithValidIDThenItReturnsNoContentStatus() {
+        //when
+        when(dogService.deleteById(VALID_ID)).thenReturn(Mono.empty());
+
+        //then
+        webTestClient.delete().uri(API_URL_PATH + "/" + VALID_ID)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void whenPUTMethodIsCalledWithInvalidIDThenItReturnsNotFound() {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+
+        //when
+        when(dogService.updateDogsRecord(INVALID_ID, dogDTO))
+                .thenReturn(Mono.error(new DogNotFoundException("The dog's record was not found.")));
+
+        //then
+        webTestClient.put().uri(API_URL_PATH + "/" + INVALID_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(asJsonString(dogDTO))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,139 @@
+package dev.jackson.dog_shelter_api.feed;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DogChangeFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch slowClient = new CountDownLatch(1);
+    private boolean nextEmitterIsSlow;
+
+    private final DogChangeFeed feed = new DogChangeFeed(new ObjectMapper().findAndRegisterModules(), meterRegistry,
+            4, 2, Duration.ofMinutes(1), Duration.ofHours(1), 2) {
+        @Override
+        SseEmitter newEmitter(long timeoutMillis) {
+            return new RecordingEmitter(nextEmitterIsSlow);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        slowClient.countDown();
+        feed.close();
+    }
+
+    @Test
+    void whenAChangeIsCommittedThenSubscribersReceiveIt() throws Exception {
+        //given
+        RecordingEmitter emitter = (RecordingEmitter) feed.subscribe(null);
+
+        //when
+        feed.onDogChanged(registered(1L));
+
+        //then
+        List<String> events = emitter.await(1);
+        assertTrue(events.getFirst().contains("event:registered"));
+        assertTrue(events.getFirst().contains("\"name\":\"JAY\""));
+    }
+
+    @Test
+    void whenResumingFromAKnownIdThenTheMissedChangesAreReplayed() throws Exception {
+        //given
+        RecordingEmitter first = (RecordingEmitter) feed.subscribe(null);
+        feed.onDogChanged(registered(1L));
+        String lastEventId = eventId(first.await(1).getFirst());
+        feed.onDogChanged(registered(2L));
+        feed.onDogChanged(new DogChangedEvent(DogChangeType.DELETED, 1L, null, null));
+
+        //when
+        RecordingEmitter resumed = (RecordingEmitter) feed.subscribe(lastEventId);
+
+        //then
+        List<String> events = resumed.await(2);
+        assertTrue(events.get(0).contains("event:registered"));
+        assertTrue(events.get(1).contains("event:deleted"));
+        assertEquals(1, meterRegistry.get("dog.changes.resumes").tag("outcome", "replayed").counter().count());
+    }
+
+    @Test
+    void whenResumingFromAnUnknownIdThenAResetIsSent() throws Exception {
+        //when
+        RecordingEmitter resumed = (RecordingEmitter) feed.subscribe("0-1");
+
+        //then
+        assertTrue(resumed.await(1).getFirst().contains("event:" + DogChangeFeed.RESET_EVENT));
+    }
+
+    @Test
+    void whenASubscriberFallsBehindThenItIsEvicted() throws Exception {
+        //given
+        nextEmitterIsSlow = true;
+        feed.subscribe(null);
+
+        //when
+        for (long id = 1; id <= 5; id++) {
+            feed.onDogChanged(registered(id));
+        }
+
+        //then
+        assertEquals(0, feed.subscriberCount());
+        assertEquals(1, meterRegistry.get("dog.changes.evictions").counter().count());
+    }
+
+    private static DogChangedEvent registered(Long id) {
+        return new DogChangedEvent(DogChangeType.REGISTERED, id, null, DogDTOBuilder.builder().id(id).build().toDogDTO());
+    }
+
+    private static String eventId(String event) {
+        return event.lines().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+
+        private final boolean slow;
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        private RecordingEmitter(boolean slow) {
+            this.slow = slow;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (slow) {
+                try {
+                    slowClient.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        private List<String> await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, events.size());
+            return events;
+        }
+    }
+}
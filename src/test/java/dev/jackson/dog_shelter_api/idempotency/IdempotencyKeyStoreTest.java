@@ -0,0 +1,49 @@
+package dev.jackson.dog_shelter_api.idempotency;
+
+import dev.jackson.dog_shelter_api.exception.IdempotencyKeyInUseException;
+import dev.jackson.dog_shelter_api.exception.InvalidDataException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyKeyStoreTest {
+
+    private final IdempotencyKeyStore store = new IdempotencyKeyStore(100, Duration.ofMinutes(1));
+
+    @Test
+    void whenTheSameKeyArrivesWhileTheFirstRequestRunsThenItIsRejectedAsInUse() {
+        assertThrows(IdempotencyKeyInUseException.class, () -> store.execute("key", "JAY",
+                () -> store.execute("key", "JAY", () -> ResponseEntity.ok("inner"))));
+    }
+
+    @Test
+    void whenTheFirstRequestFailsThenTheKeyCanBeRetried() {
+        //given
+        AtomicInteger calls = new AtomicInteger();
+
+        //when
+        assertThrows(IllegalStateException.class, () -> store.execute("key", "JAY", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("database down");
+        }));
+        ResponseEntity<String> response = store.execute("key", "JAY", () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok("created");
+        });
+
+        //then
+        assertEquals("created", response.getBody());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void whenTheKeyIsTooLongThenItIsRejected() {
+        String key = "k".repeat(IdempotencyKeyStore.MAX_KEY_LENGTH + 1);
+
+        assertThrows(InvalidDataException.class, () -> store.execute(key, "JAY", () -> ResponseEntity.ok("created")));
+    }
+}
@@ -0,0 +1,119 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.jackson.dog_shelter_api.infra.DogProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DogProtobufHttpMessageConverterTest {
+
+    private final DogProtobufHttpMessageConverter converter = new DogProtobufHttpMessageConverter();
+
+    @Test
+    void whenADogIsWrittenThenItIsReadBackUnchanged() throws Exception {
+        //given
+        DogDTO dogDTO = DogDTOBuilder.builder()
+                .version(3L)
+                .updatedAt(Instant.parse("2025-01-01T10:15:30.123Z"))
+                .build().toDogDTO();
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        //when
+        converter.write(dogDTO, DogDTO.class, APPLICATION_PROTOBUF, outputMessage);
+        Object read = converter.read(DogDTO.class, null, new MockHttpInputMessage(outputMessage.getBodyAsBytes()));
+
+        //then
+        assertEquals(dogDTO, read);
+    }
+
+    @Test
+    void whenAPageIsWrittenThenSizesAreEncodedAsOrdinals() throws Exception {
+        //given
+        DogDTO small = DogDTOBuilder.builder().id(1L).name("BUDDY").size(DogSize.SM).build().toDogDTO();
+        DogDTO giant = DogDTOBuilder.builder().id(2L).name("MAX").size(DogSize.GI).build().toDogDTO();
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        //when
+        converter.write(new DogPageDTO(List.of(small, giant), "2"), DogPageDTO.class, APPLICATION_PROTOBUF, outputMessage);
+
+        //then
+        CodedInputStream input = CodedInputStream.newInstance(outputMessage.getBodyAsBytes());
+        List<Integer> sizes = new ArrayList<>();
+        String nextCursor = null;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == 2) {
+                nextCursor = input.readString();
+                continue;
+            }
+            int limit = input.pushLimit(input.readRawVarint32());
+            while ((tag = input.readTag()) != 0) {
+                if (WireFormat.getTagFieldNumber(tag) == 5) {
+                    sizes.add(input.readEnum());
+                } else {
+                    input.skipField(tag);
+                }
+            }
+            input.popLimit(limit);
+        }
+        assertEquals(List.of(0, 3), sizes);
+        assertEquals("2", nextCursor);
+    }
+
+    @Test
+    void whenASmallDogIsWrittenThenTheSizeIsKeptOnTheWire() throws Exception {
+        //given
+        DogDTO small = DogDTOBuilder.builder().size(DogSize.SM).build().toDogDTO();
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        ByteArrayOutputStream withoutSize = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(withoutSize);
+        output.writeString(2, small.name());
+        output.flush();
+
+        //when
+        converter.write(small, DogDTO.class, APPLICATION_PROTOBUF, outputMessage);
+        DogDTO read = (DogDTO) converter.read(DogDTO.class, null, new MockHttpInputMessage(outputMessage.getBodyAsBytes()));
+        DogDTO unsized = (DogDTO) converter.read(DogDTO.class, null, new MockHttpInputMessage(withoutSize.toByteArray()));
+
+        //then
+        assertEquals(DogSize.SM, read.size());
+        assertNull(unsized.size());
+    }
+
+    @Test
+    void whenTheBodyIsNotADogListThenTheConverterDoesNotApply() {
+        assertTrue(converter.canWrite(new ParameterizedTypeReference<List<DogDTO>>() {}.getType(), List.class, APPLICATION_PROTOBUF));
+        assertFalse(converter.canWrite(new ParameterizedTypeReference<List<String>>() {}.getType(), List.class, APPLICATION_PROTOBUF));
+        assertFalse(converter.canRead(DogPageDTO.class, null, APPLICATION_PROTOBUF));
+    }
+
+    @Test
+    void whenTheSizeIsUnknownThenTheMessageIsNotReadable() throws Exception {
+        //given
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(body);
+        output.writeString(2, "JAY");
+        output.writeEnum(5, DogSize.values().length);
+        output.flush();
+
+        //then
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> converter.read(DogDTO.class, null, new MockHttpInputMessage(body.toByteArray())));
+    }
+}
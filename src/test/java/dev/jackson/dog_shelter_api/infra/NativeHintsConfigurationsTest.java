@@ -0,0 +1,31 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import dev.jackson.dog_shelter_api.dto.DogCountDTO;
+import dev.jackson.dog_shelter_api.entity.Dog;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NativeHintsConfigurationsTest {
+
+    @Test
+    void whenHintsAreRegisteredThenTheEntityMappersAndProjectionsAreReflective() {
+        //given
+        RuntimeHints hints = new RuntimeHints();
+
+        //when
+        new NativeHintsConfigurations.DogShelterRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        //then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Dog.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("dev.jackson.dog_shelter_api.mapper.DogMapperImpl"))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(DogCountDTO.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
@@ -0,0 +1,138 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import dev.jackson.dog_shelter_api.DogShelterApiApplication;
+import dev.jackson.dog_shelter_api.controller.DogController;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.service.DogService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two H2 databases stand for the primary and a replica. Nothing replicates
+ * between them, which shows where each statement went.
+ */
+public class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:dog_shelter_primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:dog_shelter_replica;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate primary;
+    private static JdbcTemplate replica;
+    private static ConfigurableApplicationContext context;
+    private static DogService dogService;
+
+    @BeforeAll
+    static void startApplication() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("CREATE TABLE replica_lag (lag_seconds DOUBLE PRECISION)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+
+        context = new SpringApplicationBuilder(DogShelterApiApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments, unlike default properties, take precedence over application.properties
+                .run("--spring.datasource.url=" + PRIMARY_URL,
+                        "--spring.jpa.show-sql=false",
+                        "--dog-shelter.datasource.replicas.urls=" + REPLICA_URL,
+                        "--dog-shelter.datasource.replicas.lag-query=SELECT lag_seconds FROM replica_lag",
+                        "--dog-shelter.datasource.replicas.check-interval=1h");
+        dogService = context.getBean(DogService.class);
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        context.close();
+    }
+
+    private static ReplicaRoutingDataSource replicas() {
+        return context.getBean(ReadReplicaConfigurations.class).replicaRoutingDataSource();
+    }
+
+    @Test
+    @DisplayName("When a dog is read then the replica answers")
+    void whenADogIsReadThenTheReplicaAnswers() {
+        //Given
+        replica.update("INSERT INTO dog (id, name, gender, age, size, version, updated_at) "
+                + "VALUES (1000, 'ECHO', 'MALE', 'ADULT', 'SM', 0, CURRENT_TIMESTAMP)");
+
+        //When
+        DogDTO found = dogService.findByName("ECHO");
+
+        //Then
+        assertEquals(1000L, found.id());
+        assertEquals(0, primary.queryForObject("SELECT COUNT(*) FROM dog WHERE name = 'ECHO'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("When a dog is registered then the primary stores it and sticky reads see it")
+    void whenADogIsRegisteredThenThePrimaryStoresIt() {
+        //Given
+        dogService.registerDog(new DogDTO(null, "MILO", "MALE", "PUPPY", DogSize.SM, null, null, null));
+
+        //When
+        assertThrows(DogNotFoundException.class, () -> dogService.findByName("MILO"));
+        ReplicaRoutingDataSource.stickToPrimary();
+        DogDTO found;
+        try {
+            found = dogService.findByName("MILO");
+        } finally {
+            ReplicaRoutingDataSource.release();
+        }
+
+        //Then
+        assertEquals("MILO", found.name());
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM dog WHERE name = 'MILO'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("When the replica lags too far behind then reads go to the primary until it catches up")
+    void whenTheReplicaLagsThenReadsGoToThePrimary() {
+        //Given
+        DogDTO registered = dogService.registerDog(new DogDTO(null, "LUNA", "FEMALE", "ADULT", DogSize.ME, null, null, null));
+        replica.update("UPDATE replica_lag SET lag_seconds = 60");
+
+        try {
+            //When
+            replicas().checkReplicas();
+
+            //Then
+            assertEquals("LUNA", dogService.findByName("LUNA").name());
+        } finally {
+            replica.update("UPDATE replica_lag SET lag_seconds = 0");
+            replicas().checkReplicas();
+        }
+        assertThrows(DogNotFoundException.class, () -> dogService.checkIfDogHasRecord(registered.id()));
+    }
+
+    @Test
+    @DisplayName("When a dog was just registered then the tagged listing is read from the primary")
+    void whenADogWasJustRegisteredThenTheListingIsReadFromThePrimary() {
+        //Given
+        dogService.registerDog(new DogDTO(null, "NOVA", "FEMALE", "PUPPY", DogSize.SM, null, null, null));
+        DogController dogController = context.getBean(DogController.class);
+
+        //When
+        DogPageDTO page = dogController.listAllDogs(null, null, null, null, null, 100,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/dogs"))).getBody();
+
+        //Then
+        assertTrue(page.content().stream().anyMatch(dog -> dog.name().equals("NOVA")));
+        assertFalse(ReplicaRoutingDataSource.isStuckToPrimary());
+    }
+}
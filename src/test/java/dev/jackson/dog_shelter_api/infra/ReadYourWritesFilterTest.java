@@ -0,0 +1,85 @@
+package dev.jackson.dog_shelter_api.infra;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    @Test
+    void whenAClientWritesThenTheResponseCarriesTheStickyCookie() throws Exception {
+        //Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/dogs");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean stuck = new AtomicBoolean();
+
+        //When
+        filter.doFilter(request, response, chain(stuck));
+
+        //Then
+        assertTrue(stuck.get());
+        assertTrue(response.getHeader(HttpHeaders.SET_COOKIE).startsWith(ReadYourWritesFilter.COOKIE_NAME + "="));
+        assertNotNull(response.getHeader(ReadYourWritesFilter.HEADER_NAME));
+        assertFalse(ReplicaRoutingDataSource.isStuckToPrimary());
+    }
+
+    @Test
+    void whenAClientReadsWithinTheWindowThenThePrimaryIsUsed() throws Exception {
+        //Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/dogs/JAY");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 5000)));
+        AtomicBoolean stuck = new AtomicBoolean();
+
+        //When
+        filter.doFilter(request, new MockHttpServletResponse(), chain(stuck));
+
+        //Then
+        assertTrue(stuck.get());
+    }
+
+    @Test
+    void whenAClientWithoutCookiesEchoesTheHeaderThenThePrimaryIsUsed() throws Exception {
+        //Given
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/v1/dogs/1"), writeResponse, chain(new AtomicBoolean()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/dogs/JAY");
+        request.addHeader(ReadYourWritesFilter.HEADER_NAME, writeResponse.getHeader(ReadYourWritesFilter.HEADER_NAME));
+        AtomicBoolean stuck = new AtomicBoolean();
+
+        //When
+        filter.doFilter(request, new MockHttpServletResponse(), chain(stuck));
+
+        //Then
+        assertTrue(stuck.get());
+    }
+
+    @Test
+    void whenTheWindowHasPassedThenReadsGoToTheReplicas() throws Exception {
+        //Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/dogs/JAY");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean stuck = new AtomicBoolean();
+
+        //When
+        filter.doFilter(request, response, chain(stuck));
+
+        //Then
+        assertFalse(stuck.get());
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    private static FilterChain chain(AtomicBoolean stuck) {
+        return (request, response) -> stuck.set(ReplicaRoutingDataSource.isStuckToPrimary());
+    }
+}
@@ -0,0 +1,121 @@
+package dev.jackson.dog_shelter_api.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+import org.flywaydb.core.Flyway;
+
+import dev.jackson.dog_shelter_api.enums.DogSize;
+
+/**
+ * Fills the dog table with a reproducible dataset: the same seed and count
+ * always produce the same rows. Dog {@code i} (from 0) gets id {@code i + 1}
+ * and the name {@link #nameOf(long)}, which is how {@link DogLoadTest} finds
+ * existing dogs without reading them first. Rows are written through plain
+ * JDBC batches, one transaction per batch.
+ * <p>
+ * The application must not hold the database exclusively, use the
+ * {@code persistent} profile: {@code mvn -Pdatagen -DskipTests verify -Ddatagen.dogs=1000000}.
+ */
+public final class DogDataGenerator {
+
+    static final int BATCH_SIZE = 1_000;
+    // Must stay above the allocation size of the dog_seq generator
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+    private static final Instant LAST_UPDATE = Instant.parse("2025-01-01T00:00:00Z");
+    private static final long UPDATE_SPREAD_SECONDS = 365L * 24 * 3600;
+
+    private static final String[] NAMES = {
+            "MAX", "BELLA", "LUNA", "CHARLIE", "LUCY", "COOPER", "DAISY", "MILO", "BAILEY", "ROCKY",
+            "SADIE", "BUDDY", "MOLLY", "BEAR", "STELLA", "TUCKER", "ZOE", "DUKE", "LOLA", "BENTLEY",
+            "ROSIE", "TEDDY", "PENNY", "OLIVER", "COCO", "BEAU", "RUBY", "LEO", "NALA", "WINSTON",
+            "PIPER", "JACK", "ROXY", "ZEUS", "MAGGIE", "MURPHY", "ELLIE", "OREO", "HAZEL", "GUS",
+            "ABBY", "BRUNO", "GINGER", "TOBY", "HONEY", "LOKI", "WILLOW", "RILEY", "PEPPER", "JAX",
+            "MOCHA", "BLUE", "DIXIE", "SCOUT", "BISCUIT", "RANGER", "MAPLE", "OTIS", "IVY", "HANK"};
+
+    // Cumulative shares; shelters take in more small and medium dogs, and mostly adults
+    private static final DogSize[] SIZES = {DogSize.SM, DogSize.ME, DogSize.LA, DogSize.GI};
+    private static final double[] SIZE_SHARES = {0.30, 0.65, 0.90, 1.0};
+    private static final String[] AGES = {"PUPPY", "ADULT", "ELDERLY"};
+    private static final double[] AGE_SHARES = {0.20, 0.80, 1.0};
+
+    private DogDataGenerator() {
+    }
+
+    /**
+     * Unique for every index: the base name cycles and the suffix counts the
+     * cycles. At most 12 characters up to 5 million dogs.
+     */
+    public static String nameOf(long index) {
+        return NAMES[(int) (index % NAMES.length)] + "-" + Long.toString(index / NAMES.length, 36).toUpperCase();
+    }
+
+    public static void main(String[] args) throws SQLException {
+        LoadTestArguments arguments = new LoadTestArguments(args);
+        String url = arguments.get("url", "jdbc:h2:file:./data/dog_shelter;AUTO_SERVER=TRUE;DB_CLOSE_ON_EXIT=FALSE");
+        String user = arguments.get("user", "sa");
+        String password = arguments.get("password", "");
+        long dogs = arguments.getLong("dogs", 100_000);
+        long seed = arguments.getLong("seed", 42);
+        if (dogs < 1 || dogs > 5_000_000) {
+            throw new IllegalArgumentException("--dogs must be between 1 and 5000000");
+        }
+
+        Flyway.configure().dataSource(url, user, password).load().migrate();
+        long started = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            generate(connection, dogs, seed, arguments.getBoolean("reset"));
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Generated %d dogs with seed %d in %.1f s (%.0f rows/s)%n", dogs, seed, seconds, dogs / seconds);
+    }
+
+    static void generate(Connection connection, long dogs, long seed, boolean reset) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            if (reset) {
+                statement.execute("DELETE FROM dog");
+                connection.commit();
+            }
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO dog (id, name, gender, age, size, version, updated_at) VALUES (?, ?, ?, ?, ?, 0, ?)")) {
+            for (long index = 0; index < dogs; index++) {
+                insert.setLong(1, index + 1);
+                insert.setString(2, nameOf(index));
+                insert.setString(3, random.nextBoolean() ? "MALE" : "FEMALE");
+                insert.setString(4, AGES[pick(AGE_SHARES, random.nextDouble())]);
+                insert.setString(5, SIZES[pick(SIZE_SHARES, random.nextDouble())].name());
+                insert.setTimestamp(6, Timestamp.from(LAST_UPDATE.minusSeconds(random.nextLong(UPDATE_SPREAD_SECONDS))));
+                insert.addBatch();
+                if ((index + 1) % BATCH_SIZE == 0 || index + 1 == dogs) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if ((index + 1) % 100_000 == 0) {
+                    System.out.printf("%d dogs written%n", index + 1);
+                }
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            // Dogs registered through the API afterwards get ids after the generated ones
+            statement.execute("ALTER SEQUENCE dog_seq RESTART WITH " + (dogs + 1 + SEQUENCE_ALLOCATION_SIZE));
+        }
+        connection.commit();
+    }
+
+    private static int pick(double[] cumulativeShares, double value) {
+        int i = 0;
+        while (value >= cumulativeShares[i] && i < cumulativeShares.length - 1) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,71 @@
+package dev.jackson.dog_shelter_api.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DogDataGeneratorTest {
+
+    private static final int DOGS = 2_500;
+
+    @Test
+    void whenGeneratedTwiceWithTheSameSeedThenTheRowsAreTheSame() throws SQLException {
+        //Given
+        String url = "jdbc:h2:mem:dog_shelter_datagen;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            //When
+            DogDataGenerator.generate(connection, DOGS, 7, true);
+            List<String> first = rows(connection);
+            DogDataGenerator.generate(connection, DOGS, 7, true);
+            List<String> second = rows(connection);
+
+            //Then
+            assertEquals(DOGS, first.size());
+            assertEquals(first, second);
+            assertEquals(DogDataGenerator.nameOf(DOGS - 1), first.getLast().split(" ")[1]);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT NEXT VALUE FOR dog_seq")) {
+                resultSet.next();
+                assertTrue(resultSet.getLong(1) > DOGS);
+            }
+        }
+    }
+
+    @Test
+    void whenNamesAreGeneratedThenTheyAreUniqueAndValid() {
+        //Given
+        int count = 100_000;
+
+        //When
+        long distinct = LongStream.range(0, count).mapToObj(DogDataGenerator::nameOf).distinct().count();
+
+        //Then
+        assertEquals(count, distinct);
+        assertTrue(DogDataGenerator.nameOf(4_999_999).length() <= 20);
+    }
+
+    private static List<String> rows(Connection connection) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT id, name, gender, age, size, updated_at FROM dog ORDER BY id")) {
+            while (resultSet.next()) {
+                rows.add(resultSet.getLong(1) + " " + resultSet.getString(2) + " " + resultSet.getString(3) + " "
+                        + resultSet.getString(4) + " " + resultSet.getString(5) + " " + resultSet.getString(6));
+            }
+        }
+        return rows;
+    }
+}
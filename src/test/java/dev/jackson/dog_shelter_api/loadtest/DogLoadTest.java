@@ -0,0 +1,432 @@
+package dev.jackson.dog_shelter_api.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Drives a mixed read/write workload against every {@code DogController}
+ * endpoint of a running instance and writes throughput, latency percentiles
+ * and status counts to a JSON report. Expects the dataset of
+ * {@link DogDataGenerator} with the same {@code --dogs}.
+ * <p>
+ * Closed model by default: {@code --concurrency} clients send a request as
+ * soon as the previous one is answered. With {@code --rate} requests are sent
+ * on a fixed schedule instead, and latency counts from the scheduled time, so
+ * a stalled server shows up in the percentiles instead of slowing the load
+ * down. Lookups are skewed: 80% go to the hottest 1% of dogs.
+ * <p>
+ * {@code mvn -Ploadtest -DskipTests verify -Dloadtest.dogs=1000000 -Dloadtest.duration=2m}
+ */
+public final class DogLoadTest {
+
+    static final String DEFAULT_MIX = "lookup:340,lookup-conditional:100,list:200,search:100,stats:30,history:30,"
+            + "register:70,batch:10,update:70,delete:30,export:1,changes:19";
+    private static final String DOGS_PATH = "/api/v1/dogs";
+    private static final String[] GENDERS = {"MALE", "FEMALE"};
+    private static final String[] AGES = {"PUPPY", "ADULT", "ELDERLY"};
+    private static final String[] SIZES = {"SM", "ME", "LA", "GI"};
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_KNOWN_ETAGS = 10_000;
+    private static final int MAX_IN_FLIGHT = 10_000;
+
+    enum Operation {
+        LOOKUP, LOOKUP_CONDITIONAL, LIST, SEARCH, STATS, HISTORY, REGISTER, BATCH, UPDATE, DELETE, EXPORT, CHANGES;
+
+        String label() {
+            return name().toLowerCase().replace('_', '-');
+        }
+
+        static Operation fromLabel(String label) {
+            return valueOf(label.strip().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    private static final class Stats {
+
+        private final Histogram latencyMicros = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder failures = new LongAdder();
+    }
+
+    record OperationReport(long requests, double throughput, double p50Millis, double p99Millis, double p999Millis,
+                           double maxMillis, double errorRate, Map<Integer, Long> statuses, long failures) {}
+
+    record Report(String startedAt, Map<String, Object> settings, double durationSeconds, long dropped,
+                  OperationReport total, Map<String, OperationReport> operations) {}
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String apiKey;
+    private final long dogs;
+    private final long hotDogs;
+    private final Duration timeout;
+    private final Operation[] mixTable;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final String runId = Long.toString(System.currentTimeMillis() % 60_466_176L, 36).toUpperCase();
+    private final AtomicLong nameSequence = new AtomicLong();
+    private final ConcurrentLinkedDeque<Long> registeredIds = new ConcurrentLinkedDeque<>();
+    private final Map<String, String> eTags = new ConcurrentHashMap<>();
+    private final AtomicReference<String> lastCursor = new AtomicReference<>();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long measureFrom;
+
+    DogLoadTest(String baseUrl, String apiKey, long dogs, Duration timeout, String mix) {
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(timeout).build();
+        this.baseUrl = baseUrl + DOGS_PATH;
+        this.apiKey = apiKey;
+        this.dogs = dogs;
+        this.hotDogs = Math.max(1, dogs / 100);
+        this.timeout = timeout;
+        this.mixTable = mixTable(mix);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArguments arguments = new LoadTestArguments(args);
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("url", arguments.get("url", "http://localhost:8080"));
+        settings.put("dogs", arguments.getLong("dogs", 100_000));
+        settings.put("seed", arguments.getLong("seed", 42));
+        settings.put("concurrency", arguments.getLong("concurrency", 32));
+        settings.put("rate", arguments.getDouble("rate", 0));
+        settings.put("duration", arguments.getDuration("duration", "60s").toString());
+        settings.put("warmup", arguments.getDuration("warmup", "10s").toString());
+        settings.put("mix", arguments.get("mix", DEFAULT_MIX));
+
+        DogLoadTest loadTest = new DogLoadTest((String) settings.get("url"), arguments.get("api-key", null),
+                (long) settings.get("dogs"), arguments.getDuration("timeout", "10s"), (String) settings.get("mix"));
+        Report report = loadTest.run((long) settings.get("seed"), (int) (long) settings.get("concurrency"),
+                (double) settings.get("rate"), arguments.getDuration("warmup", "10s"),
+                arguments.getDuration("duration", "60s"), settings);
+
+        Path reportFile = Path.of(arguments.get("report", "target/loadtest-report.json"));
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        print(report);
+        System.out.printf("%nReport written to %s%n", reportFile.toAbsolutePath());
+    }
+
+    Report run(long seed, int concurrency, double rate, Duration warmup, Duration duration, Map<String, Object> settings)
+            throws InterruptedException {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        if (rate > 0) {
+            runOpenModel(new SplittableRandom(seed), rate, start, end);
+        } else {
+            runClosedModel(seed, concurrency, end);
+        }
+        double seconds = (Math.min(System.nanoTime(), end) - measureFrom) / 1e9;
+        return report(startedAt, settings, seconds);
+    }
+
+    private void runClosedModel(long seed, int concurrency, long end) {
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                SplittableRandom random = new SplittableRandom(seed + worker);
+                workers.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        execute(pick(random), random, System.nanoTime());
+                    }
+                });
+            }
+        }
+    }
+
+    private void runOpenModel(SplittableRandom random, double rate, long start, long end) {
+        long intervalNanos = (long) (1e9 / rate);
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * intervalNanos;
+                if (scheduled >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = pick(random);
+                SplittableRandom requestRandom = random.split();
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    continue;
+                }
+                executor.submit(() -> {
+                    try {
+                        execute(operation, requestRandom, scheduled);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private Operation pick(SplittableRandom random) {
+        return mixTable[random.nextInt(mixTable.length)];
+    }
+
+    private void execute(Operation operation, SplittableRandom random, long scheduled) {
+        if (operation == Operation.DELETE && registeredIds.isEmpty()) {
+            // Only dogs registered by this run are deleted, the generated dataset stays intact
+            operation = Operation.REGISTER;
+        }
+        Stats operationStats = stats.get(operation);
+        try {
+            int status = send(operation, random);
+            if (scheduled >= measureFrom) {
+                operationStats.latencyMicros.recordValue((System.nanoTime() - scheduled) / 1_000);
+                operationStats.statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+            }
+        } catch (IOException e) {
+            if (scheduled >= measureFrom) {
+                operationStats.failures.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int send(Operation operation, SplittableRandom random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case LOOKUP -> lookup(nameOf(skewedIndex(random)), null);
+            case LOOKUP_CONDITIONAL -> {
+                String name = nameOf(random.nextLong(hotDogs));
+                yield lookup(name, eTags.get(name));
+            }
+            case LIST -> list(random);
+            case SEARCH -> {
+                String name = nameOf(random.nextLong(dogs));
+                yield get("/search?limit=10&q=" + name.substring(0, Math.min(name.length(), 3 + random.nextInt(3))));
+            }
+            case STATS -> get("/stats");
+            case HISTORY -> {
+                Long id = registeredIds.peekLast();
+                yield get("/" + (id != null ? id : random.nextLong(dogs) + 1) + "/history");
+            }
+            case REGISTER -> register(random);
+            case BATCH -> {
+                List<Map<String, String>> batch = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    batch.add(newDog(random));
+                }
+                yield send(request("/batch").POST(json(batch)).header("Content-Type", "application/json").build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+            }
+            case UPDATE -> {
+                long index = random.nextLong(dogs);
+                Map<String, String> dog = dog(nameOf(index), random);
+                yield send(request("/" + (index + 1)).PUT(json(dog)).header("Content-Type", "application/json").build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+            }
+            case DELETE -> {
+                Long id = registeredIds.pollFirst();
+                yield send(request("/" + id).DELETE().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            }
+            case EXPORT -> send(request("/export").GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            case CHANGES -> {
+                // Measures the time to subscribe, then hangs up
+                HttpResponse<InputStream> response = send(request("/changes").GET().build(),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                response.body().close();
+                yield response.statusCode();
+            }
+        };
+    }
+
+    private long skewedIndex(SplittableRandom random) {
+        return random.nextInt(10) < 8 ? random.nextLong(hotDogs) : random.nextLong(dogs);
+    }
+
+    private int lookup(String name, String eTag) throws IOException, InterruptedException {
+        HttpRequest.Builder request = request("/" + name).GET();
+        if (eTag != null) {
+            request.header("If-None-Match", eTag);
+        }
+        HttpResponse<Void> response = send(request.build(), HttpResponse.BodyHandlers.discarding());
+        response.headers().firstValue("ETag").ifPresent(value -> {
+            if (eTags.size() < MAX_KNOWN_ETAGS) {
+                eTags.put(name, value);
+            }
+        });
+        return response.statusCode();
+    }
+
+    private int list(SplittableRandom random) throws IOException, InterruptedException {
+        StringBuilder query = new StringBuilder("?limit=20");
+        String cursor = lastCursor.get();
+        if (random.nextBoolean() && cursor != null) {
+            query.append("&cursor=").append(URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+        }
+        switch (random.nextInt(5)) {
+            case 0 -> query.append("&size=").append(SIZES[random.nextInt(SIZES.length)]);
+            case 1 -> query.append("&age=").append(AGES[random.nextInt(AGES.length)].toLowerCase());
+            case 2 -> query.append("&gender=").append(GENDERS[random.nextInt(GENDERS.length)].toLowerCase());
+            default -> { }
+        }
+        HttpResponse<byte[]> response = send(request(query.toString()).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 200) {
+            JsonNode nextCursor = objectMapper.readTree(response.body()).get("nextCursor");
+            lastCursor.set(nextCursor == null || nextCursor.isNull() ? null : nextCursor.asText());
+        }
+        return response.statusCode();
+    }
+
+    private int register(SplittableRandom random) throws IOException, InterruptedException {
+        HttpRequest request = request("").POST(json(newDog(random)))
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", new UUID(random.nextLong(), random.nextLong()).toString())
+                .build();
+        HttpResponse<byte[]> response = send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 201) {
+            registeredIds.addLast(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+        return response.statusCode();
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private Map<String, String> newDog(SplittableRandom random) {
+        return dog("LT" + runId + "-" + Long.toString(nameSequence.incrementAndGet(), 36).toUpperCase(), random);
+    }
+
+    private static Map<String, String> dog(String name, SplittableRandom random) {
+        return Map.of("name", name,
+                "gender", GENDERS[random.nextInt(GENDERS.length)].toLowerCase(),
+                "age", AGES[random.nextInt(AGES.length)].toLowerCase(),
+                "size", SIZES[random.nextInt(SIZES.length)]);
+    }
+
+    private static String nameOf(long index) {
+        return DogDataGenerator.nameOf(index);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (apiKey != null) {
+            builder.header("X-API-Key", apiKey);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        return client.send(request, bodyHandler);
+    }
+
+    private static Operation[] mixTable(String mix) {
+        List<Operation> table = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            Operation operation = Operation.fromLabel(parts[0]);
+            for (int i = 0; i < Integer.parseInt(parts[1].strip()); i++) {
+                table.add(operation);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation: " + mix);
+        }
+        return table.toArray(Operation[]::new);
+    }
+
+    private Report report(Instant startedAt, Map<String, Object> settings, double seconds) {
+        Map<String, OperationReport> operations = new LinkedHashMap<>();
+        Histogram totalLatency = new Histogram(3);
+        Map<Integer, Long> totalStatuses = new TreeMap<>();
+        long totalFailures = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats operationStats = entry.getValue();
+            Map<Integer, Long> statuses = new TreeMap<>();
+            operationStats.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            long failures = operationStats.failures.sum();
+            if (operationStats.latencyMicros.getTotalCount() + failures == 0) {
+                continue;
+            }
+            operations.put(entry.getKey().label(), operationReport(operationStats.latencyMicros, statuses, failures, seconds));
+            totalLatency.add(operationStats.latencyMicros);
+            statuses.forEach((status, count) -> totalStatuses.merge(status, count, Long::sum));
+            totalFailures += failures;
+        }
+        return new Report(startedAt.toString(), settings, seconds, dropped.sum(),
+                operationReport(totalLatency, totalStatuses, totalFailures, seconds), operations);
+    }
+
+    // Errors are server errors and requests that got no response at all
+    private static OperationReport operationReport(Histogram latencyMicros, Map<Integer, Long> statuses, long failures,
+                                                   double seconds) {
+        long responses = latencyMicros.getTotalCount();
+        long serverErrors = statuses.entrySet().stream().filter(e -> e.getKey() >= 500).mapToLong(Map.Entry::getValue).sum();
+        long requests = responses + failures;
+        return new OperationReport(requests, responses / seconds,
+                latencyMicros.getValueAtPercentile(50) / 1000.0,
+                latencyMicros.getValueAtPercentile(99) / 1000.0,
+                latencyMicros.getValueAtPercentile(99.9) / 1000.0,
+                latencyMicros.getMaxValue() / 1000.0,
+                requests == 0 ? 0 : (double) (serverErrors + failures) / requests,
+                statuses, failures);
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%-20s %10s %10s %10s %10s %10s %10s %8s%n",
+                "operation", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        report.operations().forEach(DogLoadTest::printRow);
+        printRow("total", report.total());
+        if (report.dropped() > 0) {
+            System.out.printf("%d scheduled requests were dropped, more than %d were in flight%n",
+                    report.dropped(), MAX_IN_FLIGHT);
+        }
+    }
+
+    private static void printRow(String name, OperationReport row) {
+        System.out.printf("%-20s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %7.2f%%%n", name, row.requests(),
+                row.throughput(), row.p50Millis(), row.p99Millis(), row.p999Millis(), row.maxMillis(),
+                row.errorRate() * 100);
+    }
+}
@@ -0,0 +1,45 @@
+package dev.jackson.dog_shelter_api.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * {@code --name=value} command line arguments, with defaults.
+ */
+final class LoadTestArguments {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    LoadTestArguments(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+    }
+
+    String get(String name, String defaultValue) {
+        String value = values.get(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    long getLong(String name, long defaultValue) {
+        return Long.parseLong(get(name, Long.toString(defaultValue)));
+    }
+
+    double getDouble(String name, double defaultValue) {
+        return Double.parseDouble(get(name, Double.toString(defaultValue)));
+    }
+
+    boolean getBoolean(String name) {
+        return Boolean.parseBoolean(get(name, "false"));
+    }
+
+    Duration getDuration(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(get(name, defaultValue));
+    }
+}
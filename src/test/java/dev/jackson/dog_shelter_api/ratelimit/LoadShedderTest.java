@@ -0,0 +1,71 @@
+package dev.jackson.dog_shelter_api.ratelimit;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadShedderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Timer acquire;
+    private LoadShedder loadShedder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        acquire = Timer.builder("hikaricp.connections.acquire").tag("pool", "test-pool").register(meterRegistry);
+        loadShedder = new LoadShedder(meterRegistry, "test-pool", Duration.ofMillis(100), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadShedder.close();
+    }
+
+    @Test
+    void whenConnectionsAreAcquiredQuicklyThenNothingIsShed() {
+        //Given
+        acquire.record(Duration.ofMillis(5));
+
+        //When
+        loadShedder.sample();
+
+        //Then
+        assertEquals(0, loadShedder.shedRatio());
+        assertFalse(loadShedder.shouldShed());
+    }
+
+    @Test
+    void whenAcquiringTakesTwiceTheThresholdThenEverythingIsShed() {
+        //Given
+        acquire.record(Duration.ofMillis(250));
+
+        //When
+        loadShedder.sample();
+
+        //Then
+        assertEquals(1, loadShedder.shedRatio());
+        assertTrue(loadShedder.shouldShed());
+    }
+
+    @Test
+    void whenThePoolRecoversThenSheddingStops() {
+        //Given
+        acquire.record(Duration.ofMillis(150));
+        loadShedder.sample();
+        assertEquals(0.5, loadShedder.shedRatio(), 0.01);
+
+        //When
+        acquire.record(Duration.ofMillis(1));
+        loadShedder.sample();
+
+        //Then
+        assertEquals(0, loadShedder.shedRatio());
+    }
+}
@@ -0,0 +1,116 @@
+package dev.jackson.dog_shelter_api.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import dev.jackson.dog_shelter_api.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitInterceptorTest {
+
+    @Mock
+    private LoadShedder loadShedder;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @RestController
+    static class LimitedController {
+
+        @RateLimit("list")
+        @GetMapping("/list")
+        public String list() {
+            return "ok";
+        }
+
+        @RateLimit(value = "changes", shed = false)
+        @GetMapping("/changes")
+        public String changes() {
+            return "ok";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimiter rateLimiter = new RateLimiter(true, Map.of(
+                RateLimiter.DEFAULT_ENDPOINT, new RateLimiter.EndpointLimit(10, 10),
+                "list", new RateLimiter.EndpointLimit(2, 0.5),
+                "changes", new RateLimiter.EndpointLimit(10, 10)), meterRegistry, 100, Duration.ofMinutes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new LimitedController())
+                .addInterceptors(new RateLimitInterceptor(rateLimiter, loadShedder, Set.of("kiosk-1", "kiosk-2")))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void whenAClientExceedsItsLimitThenTooManyRequestsIsReturnedWithRetryAfter() throws Exception {
+        //Given
+        mockMvc.perform(get("/list").header(RateLimitInterceptor.API_KEY_HEADER, "kiosk-1")).andExpect(status().isOk());
+        mockMvc.perform(get("/list").header(RateLimitInterceptor.API_KEY_HEADER, "kiosk-1")).andExpect(status().isOk());
+
+        //When
+        mockMvc.perform(get("/list").header(RateLimitInterceptor.API_KEY_HEADER, "kiosk-1"))
+                //Then
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+        assertEquals(1, meterRegistry.get(RateLimiter.REQUESTS_METER)
+                .tag("endpoint", "list").tag("outcome", "limited").counter().count());
+    }
+
+    @Test
+    void whenOneClientIsLimitedThenOthersAreNot() throws Exception {
+        //Given
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/list").header(RateLimitInterceptor.API_KEY_HEADER, "kiosk-1"));
+        }
+
+        //When
+        mockMvc.perform(get("/list").header(RateLimitInterceptor.API_KEY_HEADER, "kiosk-2"))
+                //Then
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenAClientRotatesUnknownKeysThenItKeepsTheBucketOfItsAddress() throws Exception {
+        //Given
+        mockMvc.perform(get("/list").header(RateLimitInterceptor.API_KEY_HEADER, "made-up-1")).andExpect(status().isOk());
+        mockMvc.perform(get("/list").header(RateLimitInterceptor.API_KEY_HEADER, "made-up-2")).andExpect(status().isOk());
+
+        //When
+        mockMvc.perform(get("/list").header(RateLimitInterceptor.API_KEY_HEADER, "made-up-3"))
+                //Then
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void whenThePoolIsSaturatedThenRequestsAreShedWithServiceUnavailable() throws Exception {
+        //Given
+        when(loadShedder.shouldShed()).thenReturn(true);
+
+        //When
+        mockMvc.perform(get("/list"))
+                //Then
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(get("/changes")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,44 @@
+package dev.jackson.dog_shelter_api.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void whenTheBurstIsSpentThenTheNextTokenWaitsForTheRefill() {
+        //Given
+        TokenBucket bucket = new TokenBucket(3, 2, 0);
+
+        //When
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        long waitNanos = bucket.tryAcquire(0);
+
+        //Then
+        assertEquals(SECOND / 2, waitNanos);
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+    }
+
+    @Test
+    void whenTheBucketIsIdleThenItRefillsUpToItsCapacity() {
+        //Given
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        //When
+        long later = 10 * SECOND;
+
+        //Then
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+}
@@ -0,0 +1,77 @@
+package dev.jackson.dog_shelter_api.search;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.dto.DogNameMatchDTO;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DogNameIndexTest {
+
+    private DogNameIndex dogNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        dogNameIndex = new DogNameIndex(null);
+        dogNameIndex.put(1L, "BUDDY");
+        dogNameIndex.put(2L, "BUDDHA");
+        dogNameIndex.put(3L, "BUD");
+        dogNameIndex.put(4L, "BELLA");
+        dogNameIndex.put(5L, "MAXIMUS");
+    }
+
+    @Test
+    @DisplayName("When a prefix is searched then the names starting with it are returned alphabetically")
+    void whenAPrefixIsSearchedThenTheNamesAreReturnedAlphabetically() {
+        //When
+        List<DogNameMatchDTO> matches = dogNameIndex.search("bu", 10);
+
+        //Then
+        assertEquals(List.of("BUD", "BUDDHA", "BUDDY"), names(matches));
+        assertTrue(matches.stream().allMatch(match -> match.distance() == 0));
+    }
+
+    @Test
+    @DisplayName("When the query has a typo then names one edit away are returned")
+    void whenTheQueryHasATypoThenNamesOneEditAwayAreReturned() {
+        //When
+        List<DogNameMatchDTO> matches = dogNameIndex.search("maxinus", 10);
+
+        //Then
+        assertEquals(List.of(new DogNameMatchDTO(5L, "MAXIMUS", 1)), matches);
+    }
+
+    @Test
+    @DisplayName("When prefix matches fill the limit then no fuzzy matches are added")
+    void whenPrefixMatchesFillTheLimitThenNoFuzzyMatchesAreAdded() {
+        //When
+        List<DogNameMatchDTO> matches = dogNameIndex.search("bud", 2);
+
+        //Then
+        assertEquals(List.of("BUD", "BUDDHA"), names(matches));
+    }
+
+    @Test
+    @DisplayName("When a dog is renamed or deleted then the index follows the change")
+    void whenADogIsRenamedOrDeletedThenTheIndexFollows() {
+        //When
+        dogNameIndex.onDogChanged(new DogChangedEvent(DogChangeType.UPDATED, 1L, null,
+                DogDTOBuilder.builder().id(1L).build().toDogDTO("Rocky")));
+        dogNameIndex.onDogChanged(new DogChangedEvent(DogChangeType.DELETED, 3L, null, null));
+
+        //Then
+        assertEquals(List.of("BUDDHA"), names(dogNameIndex.search("bud", 10)));
+        assertEquals(List.of(new DogNameMatchDTO(1L, "ROCKY", 0)), dogNameIndex.search("ro", 10));
+        assertEquals(4, dogNameIndex.size());
+    }
+
+    private static List<String> names(List<DogNameMatchDTO> matches) {
+        return matches.stream().map(DogNameMatchDTO::name).toList();
+    }
+}
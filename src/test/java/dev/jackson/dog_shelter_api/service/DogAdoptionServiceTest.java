@@ -0,0 +1,221 @@
+package dev.jackson.dog_shelter_api.service;
+
+import dev.jackson.dog_shelter_api.dto.DogReservationDTO;
+import dev.jackson.dog_shelter_api.entity.Dog;
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import dev.jackson.dog_shelter_api.exception.DogNotAvailableException;
+import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.repository.DogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DogAdoptionServiceTest {
+
+    private static final Long DOG_ID = 1L;
+    private static final Duration HOLD_TTL = Duration.ofMinutes(15);
+
+    @Mock
+    private DogRepository dogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DogAdoptionService dogAdoptionService;
+
+    @BeforeEach
+    void setUp() {
+        dogAdoptionService = new DogAdoptionService(dogRepository, eventPublisher,
+                new DogServiceMetrics(new SimpleMeterRegistry()), new TransactionTemplate(transactionManager), HOLD_TTL);
+    }
+
+    @Test
+    void whenAnAvailableDogIsReservedThenItIsHeldForTheTtl() {
+        //Given
+        when(dogRepository.findById(DOG_ID)).thenReturn(Optional.of(dog(DogStatus.AVAILABLE, null, null)));
+        when(dogRepository.reserve(eq(DOG_ID), eq(3L), anyString(), any(Instant.class), any(Instant.class))).thenReturn(1);
+
+        //When
+        Instant before = Instant.now();
+        DogReservationDTO reservation = dogAdoptionService.reserve(DOG_ID);
+
+        //Then
+        assertEquals(DOG_ID, reservation.dogId());
+        assertNotNull(reservation.reservationToken());
+        assertFalse(reservation.reservedUntil().isBefore(before.plus(HOLD_TTL)));
+        DogChangedEvent event = publishedEvent();
+        assertEquals(DogChangeType.UPDATED, event.type());
+        assertEquals("RESERVED", event.after().status());
+        assertEquals(4L, event.after().version());
+    }
+
+    @Test
+    void whenTheDogIsHeldByAnotherAdopterThenTheReservationIsRefusedWithoutWriting() {
+        //Given
+        Instant reservedUntil = Instant.now().plus(Duration.ofMinutes(5));
+        when(dogRepository.findById(DOG_ID)).thenReturn(Optional.of(dog(DogStatus.RESERVED, "other", reservedUntil)));
+
+        //Then
+        assertThrows(DogNotAvailableException.class, () -> dogAdoptionService.reserve(DOG_ID));
+        verify(dogRepository, never()).reserve(any(), anyLong(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenAHoldHasExpiredThenTheDogCanBeReservedBeforeTheSweeperRuns() {
+        //Given
+        Instant expired = Instant.now().minusSeconds(1);
+        when(dogRepository.findById(DOG_ID)).thenReturn(Optional.of(dog(DogStatus.RESERVED, "other", expired)));
+        when(dogRepository.reserve(eq(DOG_ID), eq(3L), anyString(), any(Instant.class), any(Instant.class))).thenReturn(1);
+
+        //When
+        DogReservationDTO reservation = dogAdoptionService.reserve(DOG_ID);
+
+        //Then
+        assertNotEquals("other", reservation.reservationToken());
+    }
+
+    @Test
+    void whenAnotherReserverWinsTheRaceThenTheReservationIsRefused() {
+        //Given
+        when(dogRepository.findById(DOG_ID)).thenReturn(Optional.of(dog(DogStatus.AVAILABLE, null, null)));
+        when(dogRepository.reserve(eq(DOG_ID), eq(3L), anyString(), any(Instant.class), any(Instant.class)))
+                .thenReturn(0)
+                .thenThrow(new CannotAcquireLockException("row locked"));
+
+        //Then
+        assertThrows(DogNotAvailableException.class, () -> dogAdoptionService.reserve(DOG_ID));
+        // Left to roll the transaction back, the handler answers 409 as well
+        assertThrows(CannotAcquireLockException.class, () -> dogAdoptionService.reserve(DOG_ID));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void whenAnUnknownDogIsReservedThenItIsNotFound() {
+        //Given
+        when(dogRepository.findById(DOG_ID)).thenReturn(Optional.empty());
+
+        //Then
+        assertThrows(DogNotFoundException.class, () -> dogAdoptionService.reserve(DOG_ID));
+    }
+
+    @Test
+    void whenTheReserverAdoptsThenTheDogIsAdopted() {
+        //Given
+        Instant reservedUntil = Instant.now().plus(Duration.ofMinutes(5));
+        when(dogRepository.findById(DOG_ID)).thenReturn(Optional.of(dog(DogStatus.RESERVED, "token", reservedUntil)));
+        when(dogRepository.endReservation(eq(DOG_ID), eq(3L), eq(DogStatus.ADOPTED), any(Instant.class))).thenReturn(1);
+
+        //When
+        dogAdoptionService.adopt(DOG_ID, "token");
+
+        //Then
+        assertEquals("ADOPTED", publishedEvent().after().status());
+    }
+
+    @Test
+    void whenSomeoneElseAdoptsThenTheAdoptionIsRefused() {
+        //Given
+        Instant reservedUntil = Instant.now().plus(Duration.ofMinutes(5));
+        when(dogRepository.findById(DOG_ID)).thenReturn(Optional.of(dog(DogStatus.RESERVED, "token", reservedUntil)));
+
+        //Then
+        assertThrows(DogNotAvailableException.class, () -> dogAdoptionService.adopt(DOG_ID, "another token"));
+        verify(dogRepository, never()).endReservation(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void whenTheHoldHasExpiredThenTheAdoptionIsRefused() {
+        //Given
+        Instant expired = Instant.now().minusSeconds(1);
+        when(dogRepository.findById(DOG_ID)).thenReturn(Optional.of(dog(DogStatus.RESERVED, "token", expired)));
+
+        //Then
+        assertThrows(DogNotAvailableException.class, () -> dogAdoptionService.adopt(DOG_ID, "token"));
+    }
+
+    @Test
+    void whenExpiredHoldsAreSweptThenOnlyTheUnchangedOnesAreReleased() {
+        //Given
+        Instant expired = Instant.now().minusSeconds(1);
+        Dog first = dog(DogStatus.RESERVED, "first", expired);
+        Dog second = dog(DogStatus.RESERVED, "second", expired);
+        second.setId(2L);
+        when(dogRepository.findExpiredReservations(any(Instant.class), any(Limit.class))).thenReturn(List.of(first, second));
+        when(dogRepository.endReservation(eq(DOG_ID), eq(3L), eq(DogStatus.AVAILABLE), any(Instant.class))).thenReturn(1);
+        when(dogRepository.endReservation(eq(2L), eq(3L), eq(DogStatus.AVAILABLE), any(Instant.class))).thenReturn(0);
+
+        //When
+        int released = dogAdoptionService.releaseExpiredReservations(10);
+
+        //Then
+        assertEquals(1, released);
+        DogChangedEvent event = publishedEvent();
+        assertEquals(DOG_ID, event.id());
+        assertEquals("RESERVED", event.before().status());
+        assertEquals("AVAILABLE", event.after().status());
+    }
+
+    @Test
+    void whenTheDatabaseRefusesOneReleaseThenTheOthersAreStillCommitted() {
+        //Given
+        Instant expired = Instant.now().minusSeconds(1);
+        Dog first = dog(DogStatus.RESERVED, "first", expired);
+        Dog second = dog(DogStatus.RESERVED, "second", expired);
+        second.setId(2L);
+        when(dogRepository.findExpiredReservations(any(Instant.class), any(Limit.class))).thenReturn(List.of(first, second));
+        when(dogRepository.endReservation(eq(DOG_ID), eq(3L), eq(DogStatus.AVAILABLE), any(Instant.class)))
+                .thenThrow(new CannotAcquireLockException("row locked"));
+        when(dogRepository.endReservation(eq(2L), eq(3L), eq(DogStatus.AVAILABLE), any(Instant.class))).thenReturn(1);
+
+        //When
+        int released = dogAdoptionService.releaseExpiredReservations(10);
+
+        //Then
+        assertEquals(1, released);
+        assertEquals(2L, publishedEvent().id());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    private DogChangedEvent publishedEvent() {
+        ArgumentCaptor<DogChangedEvent> event = ArgumentCaptor.forClass(DogChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+
+    private static Dog dog(DogStatus status, String reservationToken, Instant reservedUntil) {
+        return Dog.builder().id(DOG_ID).name("JAY").gender(DogGender.MALE).age(DogAge.ADULT).size(DogSize.GI)
+                .status(status).reservationToken(reservationToken).reservedUntil(reservedUntil).version(3L)
+                .updatedAt(Instant.now()).build();
+    }
+}
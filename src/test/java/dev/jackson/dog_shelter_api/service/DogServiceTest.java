@@ -1,25 +1,59 @@
 package dev.jackson.dog_shelter_api.service;
 
 import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.dto.DogBatchResultDTO;
+import dev.jackson.dog_shelter_api.dto.DogCountDTO;
 import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.dto.DogHistoryEntryDTO;
+import dev.jackson.dog_shelter_api.dto.DogNameMatchDTO;
+import dev.jackson.dog_shelter_api.dto.DogPageDTO;
+import dev.jackson.dog_shelter_api.dto.DogStatsDTO;
 import dev.jackson.dog_shelter_api.entity.Dog;
+import dev.jackson.dog_shelter_api.entity.DogAuditEntry;
+import dev.jackson.dog_shelter_api.enums.BatchItemStatus;
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.enums.DogStatus;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
 import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.exception.DogVersionConflictException;
 import dev.jackson.dog_shelter_api.exception.InvalidDataException;
 import dev.jackson.dog_shelter_api.mapper.DogMapper;
+import dev.jackson.dog_shelter_api.repository.DogAuditRepository;
 import dev.jackson.dog_shelter_api.repository.DogRepository;
+import dev.jackson.dog_shelter_api.search.DogNameIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -33,9 +67,32 @@ public class DogServiceTest {
     @Mock
     private DogRepository dogRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private DogServiceMetrics dogServiceMetrics = new DogServiceMetrics(meterRegistry);
+
     @Spy
     private DogMapper dogMapper = DogMapper.INSTANCE;
 
+    @Mock
+    private DogNameIndex dogNameIndex;
+
+    @Mock
+    private DogAuditRepository dogAuditRepository;
+
     @InjectMocks
     private DogService dogService;
 
@@ -47,28 +104,128 @@ public class DogServiceTest {
         Dog expectedRegistreredDog = dogMapper.toModel(expectedDogDTO);
 
         //When
-        when(dogRepository.findByName(expectedDogDTO.name())).thenReturn(Optional.empty());
-        when(dogRepository.save(any(Dog.class))).thenReturn(expectedRegistreredDog);
+        when(dogRepository.saveAndFlush(any(Dog.class))).thenReturn(expectedRegistreredDog);
 
         //Then
         DogDTO actualRegisteredDog = dogService.registerDog(expectedDogDTO);
 
         assertEquals(expectedRegistreredDog.getId(), actualRegisteredDog.id());
         assertEquals(expectedRegistreredDog.getName(), actualRegisteredDog.name());
-        assertEquals((expectedRegistreredDog.getGender()), actualRegisteredDog.gender());
+        assertEquals(expectedRegistreredDog.getGender().name(), actualRegisteredDog.gender());
+        verify(eventPublisher).publishEvent(
+                new DogChangedEvent(DogChangeType.REGISTERED, actualRegisteredDog.id(), null, actualRegisteredDog));
+        assertEquals(1, meterRegistry.get(DogServiceMetrics.TIMER_NAME)
+                .tags("operation", "registerDog", "outcome", "success").timer().count());
+        verify(dogRepository, never()).findByName(any());
     }
 
     @Test
     @DisplayName("When a duplicated dog's record is given then it should throw an exception")
     void whenADuplicatedDogRecordIsInformedThenItShouldThrowAnException(){
         //Given
-        DogDTO expectedDogDTO = DogDTOBuilder.builder().build().toDogDTO();
-        Dog duplicatedDogRecord = dogMapper.toModel(expectedDogDTO);
+        DogDTO expectedDogDTO = DogDTOBuilder.builder().build().toDogDTO("jay");
 
         //When
-        when(dogRepository.findByName(expectedDogDTO.name())).thenReturn(Optional.of(duplicatedDogRecord));
+        when(dogRepository.saveAndFlush(any(Dog.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new SQLException("Unique index or primary key violation", "23505")));
+
+        InvalidDataException exception = assertThrows(InvalidDataException.class, () -> dogService.registerDog(expectedDogDTO));
+        assertEquals("JAY has already been registered", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+        assertEquals(1, meterRegistry.get(DogServiceMetrics.TIMER_NAME)
+                .tags("operation", "registerDog", "outcome", "invalid").timer().count());
+    }
 
-        assertThrows(InvalidDataException.class, () -> dogService.registerDog(expectedDogDTO));
+    @Test
+    @DisplayName("When the insert breaks another constraint then the original exception is propagated")
+    void whenTheInsertBreaksAnotherConstraintThenTheExceptionIsPropagated(){
+        //Given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+
+        //When
+        when(dogRepository.saveAndFlush(any(Dog.class))).thenThrow(new DataIntegrityViolationException("check",
+                new SQLException("Check constraint violation", "23513")));
+
+        //Then
+        assertThrows(DataIntegrityViolationException.class, () -> dogService.registerDog(dogDTO));
+    }
+
+    @Test
+    @DisplayName("When the history is requested then each entry keeps the previous state recorded with it")
+    void whenTheHistoryIsRequestedThenThePreviousStatesAreTheRecordedOnes() throws Exception {
+        //Given
+        DogDTO registered = DogDTOBuilder.builder().build().toDogDTO();
+        DogDTO renamed = DogDTOBuilder.builder().build().toDogDTO("REX");
+        Instant registeredAt = Instant.parse("2025-01-01T00:00:00Z");
+        // The entry of the first rename was dropped, the second one still knows what it replaced
+        List<DogAuditEntry> entries = List.of(
+                auditEntry(DogChangeType.REGISTERED, null, registered, registeredAt),
+                auditEntry(DogChangeType.UPDATED, renamed, registered, registeredAt.plusSeconds(90)),
+                auditEntry(DogChangeType.DELETED, registered, null, registeredAt.plusSeconds(120)));
+
+        //When
+        when(dogAuditRepository.findByDogIdOrderByChangedAtAscIdAsc(VALID_DOG_ID)).thenReturn(entries);
+
+        //Then
+        List<DogHistoryEntryDTO> history = dogService.findHistory(VALID_DOG_ID);
+        assertEquals(List.of(
+                new DogHistoryEntryDTO(DogChangeType.REGISTERED, registeredAt, null, registered),
+                new DogHistoryEntryDTO(DogChangeType.UPDATED, registeredAt.plusSeconds(90), renamed, registered),
+                new DogHistoryEntryDTO(DogChangeType.DELETED, registeredAt.plusSeconds(120), registered, null)), history);
+    }
+
+    @Test
+    @DisplayName("When a dog has no history then it should throw an exception")
+    void whenADogHasNoHistoryThenItShouldThrowAnException(){
+        //When
+        when(dogAuditRepository.findByDogIdOrderByChangedAtAscIdAsc(INVALID_DOG_ID)).thenReturn(List.of());
+
+        //Then
+        assertThrows(DogNotFoundException.class, () -> dogService.findHistory(INVALID_DOG_ID));
+    }
+
+    private DogAuditEntry auditEntry(DogChangeType type, DogDTO before, DogDTO after, Instant changedAt) throws IOException {
+        return DogAuditEntry.builder()
+                .dogId(VALID_DOG_ID)
+                .changeType(type)
+                .beforeState(before == null ? null : objectMapper.writeValueAsString(before))
+                .afterState(after == null ? null : objectMapper.writeValueAsString(after))
+                .changedAt(changedAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("When a batch is given then new dogs are inserted and invalid or repeated ones are reported")
+    void whenABatchIsGivenThenOnlyValidAndUniqueDogsAreInserted(){
+        //Given
+        DogDTO newDog = DogDTOBuilder.builder().name("jay").build().toDogDTO();
+        DogDTO invalidAgeDog = DogDTOBuilder.builder().name("REX").age("old").build().toDogDTO();
+        DogDTO repeatedInBatchDog = DogDTOBuilder.builder().name("JAY").build().toDogDTO();
+        DogDTO registeredDog = DogDTOBuilder.builder().name("BOB").build().toDogDTO();
+
+        //When
+        when(dogRepository.findExistingNames(anyCollection())).thenReturn(Set.of("BOB"));
+
+        //Then
+        List<DogBatchResultDTO> results = dogService.registerDogs(
+                List.of(newDog, invalidAgeDog, repeatedInBatchDog, registeredDog));
+
+        assertEquals(4, results.size());
+        assertEquals(BatchItemStatus.CREATED, results.get(0).status());
+        assertEquals("JAY", results.get(0).name());
+        assertEquals(BatchItemStatus.INVALID, results.get(1).status());
+        assertEquals(BatchItemStatus.DUPLICATE, results.get(2).status());
+        assertEquals(BatchItemStatus.DUPLICATE, results.get(3).status());
+        verify(dogRepository, times(1)).findExistingNames(anyCollection());
+        verify(dogRepository, times(1)).saveAll(anyList());
+        verify(entityManager).flush();
+    }
+
+    @Test
+    @DisplayName("When an empty batch is given then it throws an exception")
+    void whenAnEmptyBatchIsGivenThenItThrowsAnException(){
+        assertThrows(InvalidDataException.class, () -> dogService.registerDogs(Collections.emptyList()));
+        verifyNoInteractions(dogRepository);
     }
 
     @Test
@@ -101,62 +258,166 @@ public class DogServiceTest {
     }
 
     @Test
-    @DisplayName("When ListAll() is called then should return a list of all registered records")
+    @DisplayName("When ListAll() is called then should return the first page of registered records")
     void whenListAllIsCalledThenReturnAListOfRecords(){
         //Given
         DogDTO expectedDogDTO = DogDTOBuilder.builder().build().toDogDTO();
         Dog expectedDogRecord = dogMapper.toModel(expectedDogDTO);
 
         //when
-        when(dogRepository.findAll()).thenReturn(Collections.singletonList(expectedDogRecord));
+        when(dogRepository.findPageAfter(eq(0L), isNull(), isNull(), isNull(), isNull(), any(Limit.class)))
+                .thenReturn(Collections.singletonList(expectedDogRecord));
 
 
         //then
-        List<DogDTO> foundRecords = dogService.listAll();
+        DogPageDTO foundPage = dogService.listAll(DogFilter.none(), null, DogService.DEFAULT_PAGE_SIZE);
 
         //using hamcrest
-        MatcherAssert.assertThat(foundRecords, Matchers.is(Matchers.not(Matchers.empty())));
+        MatcherAssert.assertThat(foundPage.content(), Matchers.is(Matchers.not(Matchers.empty())));
         //using junit
-        assertEquals(expectedDogDTO, foundRecords.getFirst());
+        assertEquals(expectedDogDTO, foundPage.content().getFirst());
+        assertNull(foundPage.nextCursor());
     }
 
     @Test
     @DisplayName("When ListAll() is called without records then should return an empty list")
     void whenListAllIsCalledThenReturnAnEmptyListOfRecords(){
         //when
-        when(dogRepository.findAll()).thenReturn(Collections.emptyList());
+        when(dogRepository.findPageAfter(anyLong(), any(), any(), any(), any(), any(Limit.class)))
+                .thenReturn(Collections.emptyList());
 
         //then
-        List<DogDTO> foundRecords = dogService.listAll();
+        DogPageDTO foundPage = dogService.listAll(DogFilter.none(), null, DogService.DEFAULT_PAGE_SIZE);
 
-        MatcherAssert.assertThat(foundRecords, Matchers.is(Matchers.empty()));
+        MatcherAssert.assertThat(foundPage.content(), Matchers.is(Matchers.empty()));
+        assertNull(foundPage.nextCursor());
     }
 
     @Test
-    @DisplayName("When deleteById() is called with valid id, then the record should be deleted")
-    void whenDeleteByIdMethodIsCalledWithValidIDThenTheRecordShouldBeDeleted(){
+    @DisplayName("When there are more records than the limit then a cursor to the next page is returned")
+    void whenListAllHasMoreRecordsThanTheLimitThenItReturnsANextCursor(){
+        //Given
+        Dog firstDog = dogMapper.toModel(DogDTOBuilder.builder().id(1L).name("JAY").build().toDogDTO());
+        Dog secondDog = dogMapper.toModel(DogDTOBuilder.builder().id(2L).name("REX").build().toDogDTO());
+
+        //when
+        when(dogRepository.findPageAfter(eq(0L), eq(DogSize.GI), eq(DogAge.ADULT), isNull(), isNull(), any(Limit.class)))
+                .thenReturn(List.of(firstDog, secondDog));
+        when(dogRepository.findPageAfter(eq(1L), eq(DogSize.GI), eq(DogAge.ADULT), isNull(), isNull(), any(Limit.class)))
+                .thenReturn(List.of(secondDog));
+
+        //then
+        DogFilter filter = new DogFilter(DogSize.GI, "adult", null, null);
+        DogPageDTO firstPage = dogService.listAll(filter, null, 1);
+        DogPageDTO secondPage = dogService.listAll(filter, firstPage.nextCursor(), 1);
+
+        assertEquals(1, firstPage.content().size());
+        assertEquals("JAY", firstPage.content().getFirst().name());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals("REX", secondPage.content().getFirst().name());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("When ListAll() is called with an invalid cursor or limit then it throws an exception")
+    void whenListAllIsCalledWithInvalidParametersThenItThrowsAnException(){
+        assertThrows(InvalidDataException.class, () -> dogService.listAll(DogFilter.none(), "not a cursor!", 10));
+        assertThrows(InvalidDataException.class, () -> dogService.listAll(DogFilter.none(), null, 0));
+        assertThrows(InvalidDataException.class,
+                () -> dogService.listAll(DogFilter.none(), null, DogService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("When stats() is called then the grouped counts are summed per size, age and gender")
+    void whenStatsIsCalledThenTheGroupedCountsAreSummed(){
+        //Given
+        when(dogRepository.countByCategory()).thenReturn(List.of(
+                new DogCountDTO(DogSize.GI, DogAge.ADULT, DogGender.MALE, 3L),
+                new DogCountDTO(DogSize.GI, DogAge.PUPPY, DogGender.FEMALE, 2L),
+                new DogCountDTO(DogSize.SM, DogAge.ADULT, DogGender.FEMALE, 1L)));
+
+        //When
+        DogStatsDTO stats = dogService.stats();
+
+        //Then
+        assertEquals(6, stats.total());
+        assertEquals(5L, stats.bySize().get(DogSize.GI));
+        assertEquals(0L, stats.bySize().get(DogSize.ME));
+        assertEquals(4L, stats.byAge().get(DogAge.ADULT));
+        assertEquals(0L, stats.byAge().get(DogAge.ELDERLY));
+        assertEquals(3L, stats.byGender().get(DogGender.FEMALE));
+    }
+
+    @Test
+    @DisplayName("When searchByName() is called then it is answered by the name index")
+    void whenSearchByNameIsCalledThenTheNameIndexIsQueried(){
+        //Given
+        List<DogNameMatchDTO> expectedMatches = List.of(new DogNameMatchDTO(VALID_DOG_ID, "JAY", 0));
+
+        //When
+        when(dogNameIndex.search("ja", DogService.DEFAULT_SEARCH_LIMIT)).thenReturn(expectedMatches);
+
+        //Then
+        assertEquals(expectedMatches, dogService.searchByName(" ja ", DogService.DEFAULT_SEARCH_LIMIT));
+        verifyNoInteractions(dogRepository);
+    }
+
+    @Test
+    @DisplayName("When searchByName() is called with a blank query or an invalid limit then it throws an exception")
+    void whenSearchByNameIsCalledWithInvalidParametersThenItThrowsAnException(){
+        assertThrows(InvalidDataException.class, () -> dogService.searchByName(" ", DogService.DEFAULT_SEARCH_LIMIT));
+        assertThrows(InvalidDataException.class,
+                () -> dogService.searchByName("ja", DogService.MAX_SEARCH_LIMIT + 1));
+        verifyNoInteractions(dogNameIndex);
+    }
+
+    @Test
+    @DisplayName("When exportAll() is called then every record is written as one JSON line and detached")
+    void whenExportAllIsCalledThenEveryRecordIsWrittenAsOneJsonLine() throws IOException {
         //Given
-        DogDTO expectedDeletedDogDTO = DogDTOBuilder.builder().build().toDogDTO();
-        Dog expectedDeletedDogRecord = dogMapper.toModel(expectedDeletedDogDTO);
+        Dog firstDog = dogMapper.toModel(DogDTOBuilder.builder().id(1L).name("JAY").build().toDogDTO());
+        Dog secondDog = dogMapper.toModel(DogDTOBuilder.builder().id(2L).name("REX").build().toDogDTO());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         //when
-        when(dogRepository.findById(VALID_DOG_ID)).thenReturn(Optional.of(expectedDeletedDogRecord));
-        doNothing().when(dogRepository).deleteById(VALID_DOG_ID);
+        when(dogRepository.streamAllOrderedById()).thenReturn(Stream.of(firstDog, secondDog));
+
+        //then
+        dogService.exportAll(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("JAY", objectMapper.readValue(lines[0], DogDTO.class).name());
+        assertEquals("REX", objectMapper.readValue(lines[1], DogDTO.class).name());
+        verify(entityManager).detach(firstDog);
+        verify(entityManager).detach(secondDog);
+    }
+
+    @Test
+    @DisplayName("When deleteById() is called with valid id, then the record should be deleted")
+    void whenDeleteByIdMethodIsCalledWithValidIDThenTheRecordShouldBeDeleted(){
+        //when
+        Dog deleted = Dog.builder().id(VALID_DOG_ID).name("JAY").gender(DogGender.MALE).age(DogAge.ADULT).size(DogSize.GI)
+                .status(DogStatus.AVAILABLE).version(2L).build();
+        when(dogRepository.deleteRecordById(VALID_DOG_ID)).thenReturn(Optional.of(deleted));
 
         dogService.deleteById(VALID_DOG_ID);
 
-        verify(dogRepository, times(1)).findById(VALID_DOG_ID);
-        verify(dogRepository, times(1)).deleteById(VALID_DOG_ID);
+        verify(dogRepository, times(1)).deleteRecordById(VALID_DOG_ID);
+        verify(dogRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(new DogChangedEvent(DogChangeType.DELETED, VALID_DOG_ID,
+                DogMapper.INSTANCE.toDTO(deleted), null));
     }
 
     @Test
     @DisplayName("When an invalid dog's id is given to delete then it throws an exception")
     void whenDeleteByIdMethodIsCalledWithInvalidIDThenTheRecordShouldBeDeleted(){
         //when
-        when(dogRepository.findById(INVALID_DOG_ID)).thenReturn(Optional.empty());
+        when(dogRepository.deleteRecordById(INVALID_DOG_ID)).thenReturn(Optional.empty());
 
         //then
         assertThrows(DogNotFoundException.class, () -> dogService.deleteById(INVALID_DOG_ID));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -164,15 +425,24 @@ public class DogServiceTest {
     void whenAValidDogsIdIsGivenThenItAllowsToUpdateRecord(){
         //Given
         DogDTO expectedDogDTO = DogDTOBuilder.builder().build().toDogDTO();
-        Dog expectedRegistreredDog = dogMapper.toModel(expectedDogDTO);
 
         //When
-        when(dogRepository.findById(VALID_DOG_ID)).thenReturn(Optional.of(expectedRegistreredDog));
+        when(dogRepository.updateRecord(eq(VALID_DOG_ID), eq("JAY"), eq("MALE"), eq("ADULT"), eq("GI"), isNull(),
+                any(Instant.class)))
+                .thenReturn(Optional.of(Dog.builder().id(VALID_DOG_ID).name("REX").version(3L).status(DogStatus.RESERVED).build()));
 
         //Then
         dogService.updateDogsRecord(VALID_DOG_ID, expectedDogDTO);
-        verify(dogRepository, times(1)).findById(expectedDogDTO.id());
-        verify(dogRepository).save(any(Dog.class));
+        verify(dogRepository, never()).findById(anyLong());
+        verify(dogRepository, never()).save(any(Dog.class));
+        ArgumentCaptor<DogChangedEvent> event = ArgumentCaptor.forClass(DogChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(DogChangeType.UPDATED, event.getValue().type());
+        assertEquals("REX", event.getValue().before().name());
+        assertEquals(expectedDogDTO.name(), event.getValue().after().name());
+        assertEquals(4L, event.getValue().after().version());
+        assertEquals("RESERVED", event.getValue().after().status());
+        assertNotNull(event.getValue().after().updatedAt());
     }
 
     @Test
@@ -182,9 +452,25 @@ public class DogServiceTest {
         DogDTO expectedDogDTO = DogDTOBuilder.builder().build().toDogDTO();
 
         //When
-        when(dogRepository.findById(INVALID_DOG_ID)).thenReturn(Optional.empty());
+        when(dogRepository.updateRecord(eq(INVALID_DOG_ID), any(), any(), any(), any(), isNull(), any())).thenReturn(Optional.empty());
 
         //Then
         assertThrows(DogNotFoundException.class, () -> dogService.updateDogsRecord(INVALID_DOG_ID, expectedDogDTO));
     }
+
+    @Test
+    @DisplayName("When the record was modified since the given version then it should throw a conflict")
+    void whenTheVersionIsStaleThenItThrowsAConflict(){
+        //Given
+        DogDTO staleDogDTO = DogDTOBuilder.builder().version(3L).build().toDogDTO();
+
+        //When
+        when(dogRepository.updateRecord(eq(VALID_DOG_ID), any(), any(), any(), any(), eq(3L), any())).thenReturn(Optional.empty());
+        when(dogRepository.existsById(VALID_DOG_ID)).thenReturn(true);
+
+        //Then
+        assertThrows(DogVersionConflictException.class, () -> dogService.updateDogsRecord(VALID_DOG_ID, staleDogDTO));
+        assertEquals(1, meterRegistry.get(DogServiceMetrics.TIMER_NAME)
+                .tags("operation", "updateDogsRecord", "outcome", "conflict").timer().count());
+    }
 }
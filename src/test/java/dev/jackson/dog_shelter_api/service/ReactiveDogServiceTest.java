@@ -0,0 +1,173 @@
+package dev.jackson.dog_shelter_api.service;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import dev.jackson.dog_shelter_api.dto.DogFilter;
+import dev.jackson.dog_shelter_api.entity.DogRecord;
+import dev.jackson.dog_shelter_api.enums.DogAge;
+import dev.jackson.dog_shelter_api.enums.DogChangeType;
+import dev.jackson.dog_shelter_api.enums.DogGender;
+import dev.jackson.dog_shelter_api.enums.DogSize;
+import dev.jackson.dog_shelter_api.event.DogChangedEvent;
+import dev.jackson.dog_shelter_api.exception.DogNotFoundException;
+import dev.jackson.dog_shelter_api.exception.DogVersionConflictException;
+import dev.jackson.dog_shelter_api.exception.InvalidDataException;
+import dev.jackson.dog_shelter_api.repository.ReactiveDogRepository;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.reactive.TransactionContext;
+import org.springframework.transaction.reactive.TransactionContextManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveDogServiceTest {
+    private static final Long VALID_DOG_ID = 1L;
+    private static final Long INVALID_DOG_ID = 2L;
+
+    @Mock
+    private ReactiveDogRepository dogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReactiveDogService dogService;
+
+    @Test
+    @DisplayName("When a valid dog is given then it should be registered with the next sequence id")
+    void whenAValidDogIsGivenThenItIsRegistered(){
+        //Given
+        DogDTO dogDTO = DogDTOBuilder.builder().id(null).build().toDogDTO("jay");
+
+        //When
+        when(dogRepository.nextId()).thenReturn(Mono.just(VALID_DOG_ID));
+        when(dogRepository.save(any(DogRecord.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        //Then
+        StepVerifier.create(dogService.registerDog(dogDTO).contextWrite(TransactionContextManager.createTransactionContext()))
+                .assertNext(registeredDog -> {
+                    assertEquals(VALID_DOG_ID, registeredDog.id());
+                    assertEquals("JAY", registeredDog.name());
+                    assertNotNull(registeredDog.updatedAt());
+                })
+                .verifyComplete();
+        ArgumentCaptor<ApplicationEvent> event = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        // Carrying the transaction lets the transactional listeners wait for the commit
+        assertInstanceOf(TransactionContext.class, event.getValue().getSource());
+        DogChangedEvent change = (DogChangedEvent) ((PayloadApplicationEvent<?>) event.getValue()).getPayload();
+        assertEquals(DogChangeType.REGISTERED, change.type());
+    }
+
+    @Test
+    @DisplayName("When an already registered name is given then the unique violation is reported as invalid data")
+    void whenAnAlreadyRegisteredNameIsGivenThenItFails(){
+        //Given
+        DogDTO dogDTO = DogDTOBuilder.builder().build().toDogDTO();
+
+        //When
+        when(dogRepository.nextId()).thenReturn(Mono.just(VALID_DOG_ID));
+        when(dogRepository.save(any(DogRecord.class))).thenReturn(Mono.error(new DataIntegrityViolationException("duplicate",
+                new R2dbcDataIntegrityViolationException("Unique index or primary key violation", "23505"))));
+
+        //Then
+        StepVerifier.create(dogService.registerDog(dogDTO))
+                .expectErrorMatches(e -> e instanceof InvalidDataException
+                        && e.getMessage().equals("JAY has already been registered"))
+                .verify();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("When an unknown age is given then it should fail before reaching the database")
+    void whenAnUnknownAgeIsGivenThenItFails(){
+        //Given
+        DogDTO dogDTO = DogDTOBuilder.builder().age("ancient").build().toDogDTO();
+
+        //Then
+        StepVerifier.create(dogService.registerDog(dogDTO))
+                .expectError(InvalidDataException.class)
+                .verify();
+        verifyNoInteractions(dogRepository);
+    }
+
+    @Test
+    @DisplayName("When findByName() is called with an unknown name then it should fail with not found")
+    void whenFindByNameIsCalledWithAnUnknownNameThenItFails(){
+        //When
+        when(dogRepository.findByName("REX")).thenReturn(Mono.empty());
+
+        //Then
+        StepVerifier.create(dogService.findByName("rex"))
+                .expectError(DogNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("When listAll() finds more rows than the limit then it returns a cursor to the next page")
+    void whenListAllFindsMoreRowsThanTheLimitThenItReturnsACursor(){
+        //When
+        when(dogRepository.findPageAfter(0L, null, "ADULT", null, null, 2))
+                .thenReturn(Flux.just(dogRecord(1L, "JAY"), dogRecord(2L, "REX")));
+
+        //Then
+        StepVerifier.create(dogService.listAll(new DogFilter(null, "adult", null, null), null, 1))
+                .assertNext(page -> {
+                    assertEquals(1, page.content().size());
+                    assertNotNull(page.nextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("When the stored version differs from the given one then the update fails with a conflict")
+    void whenTheVersionIsStaleThenTheUpdateFailsWithAConflict(){
+        //Given
+        DogDTO staleDogDTO = DogDTOBuilder.builder().version(3L).build().toDogDTO();
+
+        //When
+        when(dogRepository.updateRecord(eq(VALID_DOG_ID), eq("JAY"), eq("MALE"), eq("ADULT"), eq("GI"), eq(3L),
+                any(OffsetDateTime.class))).thenReturn(Mono.empty());
+        when(dogRepository.existsById(VALID_DOG_ID)).thenReturn(Mono.just(true));
+
+        //Then
+        StepVerifier.create(dogService.updateDogsRecord(VALID_DOG_ID, staleDogDTO))
+                .expectError(DogVersionConflictException.class)
+                .verify();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("When an invalid dog's id is given then the delete fails with not found")
+    void whenAnInvalidDogsIdIsGivenThenTheDeleteFails(){
+        //When
+        when(dogRepository.deleteRecordById(INVALID_DOG_ID)).thenReturn(Mono.empty());
+
+        //Then
+        StepVerifier.create(dogService.deleteById(INVALID_DOG_ID))
+                .expectError(DogNotFoundException.class)
+                .verify();
+    }
+
+    private static DogRecord dogRecord(Long id, String name){
+        return DogRecord.builder().id(id).name(name).gender(DogGender.MALE).age(DogAge.ADULT).size(DogSize.GI)
+                .version(0L).build();
+    }
+}
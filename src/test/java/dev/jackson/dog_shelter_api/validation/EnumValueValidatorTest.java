@@ -0,0 +1,57 @@
+package dev.jackson.dog_shelter_api.validation;
+
+import dev.jackson.dog_shelter_api.builder.DogDTOBuilder;
+import dev.jackson.dog_shelter_api.dto.DogDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnumValueValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("When age and gender match an option ignoring case then the dog is valid")
+    void whenAgeAndGenderMatchIgnoringCaseThenTheDogIsValid() {
+        DogDTO dogDTO = DogDTOBuilder.builder().age("Elderly").gender("female").build().toDogDTO();
+
+        assertTrue(validator.validate(dogDTO).isEmpty());
+    }
+
+    @Test
+    @DisplayName("When age or gender are not an option then a violation is reported for each field")
+    void whenAgeOrGenderAreNotAnOptionThenViolationsAreReported() {
+        DogDTO dogDTO = DogDTOBuilder.builder().age("old").gender("other").build().toDogDTO();
+
+        Set<ConstraintViolation<DogDTO>> violations = validator.validate(dogDTO);
+
+        assertEquals(2, violations.size());
+        assertTrue(violations.stream().anyMatch(violation ->
+                violation.getPropertyPath().toString().equals("age")
+                        && violation.getMessage().equals("must be puppy, adult or elderly")));
+        assertTrue(violations.stream().anyMatch(violation ->
+                violation.getPropertyPath().toString().equals("gender")
+                        && violation.getMessage().equals("must be male or female")));
+    }
+}